@@ -0,0 +1,124 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two result CSVs written by {@link BenchmarkRunner} (a stored baseline and a new run).
+ * <p>
+ * Rows are matched by benchmark, mode and parameters. A row is a regression when the score got
+ * worse (lower for throughput, higher for time modes) by more than the threshold AND by more
+ * than the two error margins together, so noise inside the confidence intervals is not reported.
+ * Runs with too few iterations for an error estimate (--quick) only have the threshold, so keep
+ * baselines from full runs.
+ * Allocation per operation is reported when it grows by more than the threshold (and 16 bytes).
+ * <p>
+ * Usage: java -cp target/benchmarks.jar benchmarks.BaselineDiff baseline.csv current.csv [threshold%]
+ * Exit code 1 if there is at least one regression.
+ */
+public class BaselineDiff {
+
+    static final String HEADER = "benchmark,mode,params,score,error,unit,allocBytesPerOp";
+    static final double DEFAULT_THRESHOLD_PERCENT = 10;
+    private static final double MIN_ALLOCATION_DELTA = 16;
+
+    static class Row {
+        final String key;
+        final String mode;
+        final double score;
+        final double error;
+        final String unit;
+        final double allocated;
+
+        Row(String[] columns) {
+            this.key = columns[0] + " " + columns[1] + (columns[2].isEmpty() ? "" : " [" + columns[2] + "]");
+            this.mode = columns[1];
+            this.score = Double.parseDouble(columns[3]);
+            this.error = parseOrZero(columns[4]);
+            this.unit = columns[5];
+            this.allocated = Double.parseDouble(columns[6]);
+        }
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    static Map<String, Row> read(Path csv) throws IOException {
+        List<String> lines = Files.readAllLines(csv);
+        if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+            throw new IOException("Not a benchmark result CSV: " + csv);
+        }
+        Map<String, Row> rows = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) continue;
+            Row row = new Row(line.split(",", -1));
+            rows.put(row.key, row);
+        }
+        return rows;
+    }
+
+    /**
+     * Prints one line per benchmark present in both files.
+     *
+     * @return number of regressions
+     */
+    static int compare(Map<String, Row> baseline, Map<String, Row> current, double thresholdPercent) {
+        int regressions = 0;
+        for (Row now : current.values()) {
+            Row before = baseline.get(now.key);
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "NEW        %s: %.3f %s%n", now.key, now.score, now.unit);
+                continue;
+            }
+            double change = 100 * (now.score - before.score) / before.score;
+            double worse = now.higherIsBetter() ? -change : change;
+            boolean significant = Math.abs(now.score - before.score) > now.error + before.error;
+            String status = "ok";
+            if (worse > thresholdPercent && significant) {
+                status = "REGRESSION";
+                regressions++;
+            } else if (worse < -thresholdPercent && significant) {
+                status = "improved";
+            }
+
+            String allocation = "";
+            if (!Double.isNaN(before.allocated) && !Double.isNaN(now.allocated)) {
+                double delta = now.allocated - before.allocated;
+                if (delta > MIN_ALLOCATION_DELTA && delta > before.allocated * thresholdPercent / 100) {
+                    allocation = String.format(Locale.ROOT, ", ALLOCATION %.0f -> %.0f B/op", before.allocated, now.allocated);
+                    regressions++;
+                }
+            }
+            System.out.printf(Locale.ROOT, "%-10s %s: %.3f -> %.3f %s (%+.1f%%)%s%n",
+                    status, now.key, before.score, now.score, now.unit, change, allocation);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.println("MISSING    " + key);
+            }
+        }
+        System.out.println(regressions + " regression(s), threshold " + thresholdPercent + "%");
+        return regressions;
+    }
+
+    private static double parseOrZero(String value) {
+        double parsed = Double.parseDouble(value);
+        return Double.isNaN(parsed) ? 0 : parsed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineDiff baseline.csv current.csv [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        int regressions = compare(read(Path.of(args[0])), read(Path.of(args[1])), threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,133 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks with the GC profiler and writes machine-readable results:
+ * - results/jmh-&lt;timestamp&gt;.json: the full JMH report
+ * - results/jmh-&lt;timestamp&gt;.csv and results/latest.csv: one row per benchmark, mode and
+ *   parameter set, with score, error, unit and allocated bytes per operation
+ * The CSV is what {@link BaselineDiff} compares.
+ * <p>
+ * Usage: java -jar target/benchmarks.jar [options] [benchmark regex ...]
+ * <pre>
+ *   --out DIR           result directory (default: results)
+ *   --baseline FILE     compare with a stored CSV afterwards, exit code 1 on regressions
+ *   --threshold PCT     regression threshold in percent (default: 10)
+ *   --quick             1 warmup + 2 measurement iterations of 1 s, for smoke runs
+ *   -p NAME=V1,V2       override a @Param, e.g. -p size=1000,100000
+ * </pre>
+ * Example: save a baseline on main, then compare a branch against it:
+ * <pre>
+ *   java -jar target/benchmarks.jar SortingBenchmark &amp;&amp; cp results/latest.csv baseline.csv
+ *   java -jar target/benchmarks.jar --baseline baseline.csv SortingBenchmark
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path out = Path.of("results");
+        Path baseline = null;
+        double threshold = BaselineDiff.DEFAULT_THRESHOLD_PERCENT;
+        boolean quick = false;
+        List<String> includes = new ArrayList<>();
+        Map<String, String[]> params = new TreeMap<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out" -> out = Path.of(args[++i]);
+                case "--baseline" -> baseline = Path.of(args[++i]);
+                case "--threshold" -> threshold = Double.parseDouble(args[++i]);
+                case "--quick" -> quick = true;
+                case "-p" -> {
+                    String[] param = args[++i].split("=", 2);
+                    if (param.length != 2) {
+                        throw new IllegalArgumentException("Expected -p NAME=V1,V2 but got " + args[i]);
+                    }
+                    params.put(param[0], param[1].split(","));
+                }
+                default -> includes.add(args[i]);
+            }
+        }
+
+        Files.createDirectories(out);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path json = out.resolve("jmh-" + stamp + ".json");
+        Path csv = out.resolve("jmh-" + stamp + ".csv");
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(json.toString());
+        if (includes.isEmpty()) {
+            options.include("benchmarks\\..*");
+        }
+        for (String include : includes) {
+            options.include(include);
+        }
+        for (Map.Entry<String, String[]> param : params.entrySet()) {
+            options.param(param.getKey(), param.getValue());
+        }
+        if (quick) {
+            options.warmupIterations(1).warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(2).measurementTime(TimeValue.seconds(1));
+        }
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+        writeCsv(results, csv);
+        Files.copy(csv, out.resolve("latest.csv"), StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Results: " + json + ", " + csv);
+
+        if (baseline != null) {
+            int regressions = BaselineDiff.compare(BaselineDiff.read(baseline), BaselineDiff.read(csv), threshold);
+            if (regressions > 0) {
+                System.exit(1);
+            }
+        }
+    }
+
+    static void writeCsv(Collection<RunResult> results, Path csv) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv))) {
+            writer.println(BaselineDiff.HEADER);
+            for (RunResult run : results) {
+                Result<?> primary = run.getPrimaryResult();
+                double allocated = Double.NaN;
+                for (Map.Entry<String, Result> secondary : run.getSecondaryResults().entrySet()) {
+                    if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+                        allocated = secondary.getValue().getScore();
+                    }
+                }
+                StringBuilder parameters = new StringBuilder();
+                for (String key : run.getParams().getParamsKeys()) {
+                    if (parameters.length() > 0) parameters.append(';');
+                    parameters.append(key).append('=').append(run.getParams().getParam(key));
+                }
+                writer.printf(Locale.ROOT, "%s,%s,%s,%.6f,%.6f,%s,%.2f%n",
+                        run.getParams().getBenchmark(), run.getParams().getMode().shortLabel(), parameters,
+                        primary.getScore(), primary.getScoreError(), primary.getScoreUnit(), allocated);
+            }
+        }
+    }
+}
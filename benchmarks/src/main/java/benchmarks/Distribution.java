@@ -0,0 +1,50 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * Input shapes for the benchmarks. Inputs are generated from a fixed seed, so every run and
+ * every version of the code sees the same data.
+ */
+public enum Distribution {
+    RANDOM,
+    SORTED,
+    REVERSED,
+    NEARLY_SORTED, // sorted, then 1% of the positions, chosen at random, overwritten with random values
+    FEW_UNIQUE,    // 16 distinct values
+    ZIPF;          // skewed: small values are much more frequent, like hot cache keys
+
+    public static final long SEED = 42;
+
+    /**
+     * @param bound values are in [0, bound) (RANDOM, NEARLY_SORTED use the full int range)
+     */
+    public int[] ints(int size, int bound) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[] data = new int[size];
+        switch (this) {
+            case RANDOM -> {
+                for (int i = 0; i < size; i++) data[i] = random.nextInt();
+            }
+            case SORTED -> {
+                for (int i = 0; i < size; i++) data[i] = i;
+            }
+            case REVERSED -> {
+                for (int i = 0; i < size; i++) data[i] = size - i;
+            }
+            case NEARLY_SORTED -> {
+                for (int i = 0; i < size; i++) data[i] = i;
+                for (int i = 0; i < size / 100; i++) data[random.nextInt(size)] = random.nextInt();
+            }
+            case FEW_UNIQUE -> {
+                for (int i = 0; i < size; i++) data[i] = random.nextInt(16);
+            }
+            case ZIPF -> {
+                // inverse transform of a power law with exponent ~1 over [1, bound]
+                double logBound = Math.log(bound);
+                for (int i = 0; i < size; i++) data[i] = (int) Math.exp(random.nextDouble() * logBound) - 1;
+            }
+        }
+        return data;
+    }
+}
@@ -0,0 +1,88 @@
+package benchmarks.cache;
+
+import benchmarks.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import system.design.cache.LFUCache;
+import system.design.cache.LRUCache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LRU and LFU caches under a read-through workload: get, and put on a miss.
+ * <p>
+ * Keys come from a pre-generated trace over a key space 4x the capacity: ZIPF has a hot set
+ * (high hit rate), RANDOM is uniform (mostly misses and evictions). One invocation = one request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final int TRACE_LENGTH = 1 << 20; // power of two, the cursor wraps with a mask
+
+    @Param({"1024", "65536"})
+    private int capacity;
+
+    @Param({"ZIPF", "RANDOM"})
+    private Distribution distribution;
+
+    private int[] trace;
+    private int cursor;
+    private LRUCache lru;
+    private LFUCache lfu;
+
+    @Setup
+    public void setUp() {
+        int[] values = distribution.ints(TRACE_LENGTH, 4 * capacity);
+        trace = new int[TRACE_LENGTH];
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            trace[i] = Math.floorMod(values[i], 4 * capacity);
+        }
+        lru = new LRUCache(capacity);
+        lfu = new LFUCache(capacity);
+        // fill both caches so the measurement starts in steady state
+        for (int key : trace) {
+            lru.put(key, key);
+            lfu.put(key, key);
+        }
+    }
+
+    private int nextKey() {
+        return trace[cursor++ & (TRACE_LENGTH - 1)];
+    }
+
+    @Benchmark
+    public int lruReadThrough() {
+        int key = nextKey();
+        int value = lru.get(key);
+        if (value == -1) {
+            lru.put(key, key);
+            return key;
+        }
+        return value;
+    }
+
+    @Benchmark
+    public int lfuReadThrough() {
+        int key = nextKey();
+        int value = lfu.get(key);
+        if (value == -1) {
+            lfu.put(key, key);
+            return key;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,87 @@
+package benchmarks.graph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import system.design.graph.CompactGraph;
+import system.design.graph.GraphUtils;
+import system.design.graph.weighted.BatchDijkstra;
+import system.design.graph.weighted.BoruvkaMST;
+import system.design.graph.weighted.WeightedGraph;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-source shortest paths on the map-based WeightedGraph vs the CSR CompactGraph, BFS
+ * and MST, on a random graph with a fixed seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GraphBenchmark {
+
+    @Param({"10000", "100000"})
+    private int vertices;
+
+    @Param({"8"})
+    private int averageDegree;
+
+    private WeightedGraph graph;
+    private CompactGraph compactGraph;
+    private BatchDijkstra batchDijkstra;
+    private final int[] source = {0};
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        graph = new WeightedGraph(); // addEdge stores both directions
+        // a path through all vertices keeps the graph connected, the rest is random
+        for (int v = 1; v < vertices; v++) {
+            int weight = random.nextInt(1, 100);
+            graph.addEdge(v - 1, v, weight);
+        }
+        long edges = (long) vertices * averageDegree / 2;
+        for (long e = vertices - 1; e < edges; e++) {
+            int from = random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            int weight = random.nextInt(1, 100);
+            graph.addEdge(from, to, weight);
+        }
+        compactGraph = CompactGraph.of(graph);
+        batchDijkstra = new BatchDijkstra(compactGraph, 1);
+    }
+
+    @Benchmark
+    public Object dijkstraWeightedGraph() {
+        return GraphUtils.dijkstra(graph, 0);
+    }
+
+    @Benchmark
+    public long dijkstraCompactGraph() {
+        long[] checksum = new long[1];
+        batchDijkstra.run(source, (s, paths) -> checksum[0] = paths.getDistance(vertices - 1));
+        return checksum[0];
+    }
+
+    @Benchmark
+    public int[] bfsCompactGraph() {
+        return GraphUtils.bfsOrder(compactGraph);
+    }
+
+    @Benchmark
+    public long boruvkaMst() {
+        return BoruvkaMST.of(graph).getTotalWeight();
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks.percolation;
+
+import algorithms.dynamic.percolations.CubicLattice;
+import algorithms.dynamic.percolations.HexagonalLattice;
+import algorithms.dynamic.percolations.Lattice;
+import algorithms.dynamic.percolations.PercolationTrial;
+import algorithms.dynamic.percolations.PercolationTrials;
+import algorithms.dynamic.percolations.SquareLattice;
+import algorithms.dynamic.percolations.TriangularLattice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One percolation trial (open sites or bonds in random order until the lattice spans) per lattice.
+ * <p>
+ * Every parameter combination runs in its own fork, so the lattice.neighbours() call site only
+ * ever sees one {@link Lattice} class and the lattices are compared on equally optimized code.
+ * Running them one after another in a single JVM makes that call site megamorphic and penalizes
+ * whichever lattice comes later.
+ * 2D lattices are 256 x 256 and the cubic one 40 x 40 x 40 (64000 sites, about the same).
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatticeBenchmark {
+
+    @Param({"SQUARE", "TRIANGULAR", "HEXAGONAL", "CUBIC"})
+    private String lattice;
+
+    @Param({"site", "bond"})
+    private String kind;
+
+    private PercolationTrial trial;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        Lattice chosen = switch (lattice) {
+            case "SQUARE" -> new SquareLattice(256);
+            case "TRIANGULAR" -> new TriangularLattice(256);
+            case "HEXAGONAL" -> new HexagonalLattice(256);
+            case "CUBIC" -> new CubicLattice(40);
+            default -> throw new IllegalArgumentException("Unknown lattice: " + lattice);
+        };
+        trial = "site".equals(kind) ? PercolationTrials.sites(chosen) : PercolationTrials.bonds(chosen);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public double trial() {
+        return trial.run(random);
+    }
+}
@@ -0,0 +1,100 @@
+package benchmarks.queue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import system.design.queue.ArrayQueue;
+import system.design.queue.LinkedListQueue;
+import system.design.queue.TwoStackQueue;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue implementations of system.design.queue against java.util.ArrayDeque.
+ * <p>
+ * One invocation enqueues a burst of elements, then drains it; the score is per element
+ * (enqueue + poll). The GC profiler shows the per-node allocation of LinkedListQueue.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(QueueBenchmark.BURST)
+public class QueueBenchmark {
+
+    static final int BURST = 1024;
+
+    @Param({"1024", "65536"})
+    private int capacity; // ArrayQueue is bounded, a burst never fills it
+
+    private Integer[] items;
+    private ArrayQueue<Integer> arrayQueue;
+    private LinkedListQueue<Integer> linkedListQueue;
+    private TwoStackQueue<Integer> twoStackQueue;
+    private ArrayDeque<Integer> arrayDeque;
+
+    @Setup
+    public void setUp() {
+        items = new Integer[BURST];
+        for (int i = 0; i < BURST; i++) {
+            items[i] = i; // boxed once here, the benchmark measures the queues only
+        }
+        arrayQueue = new ArrayQueue<>(capacity);
+        linkedListQueue = new LinkedListQueue<>();
+        twoStackQueue = new TwoStackQueue<>();
+        arrayDeque = new ArrayDeque<>(capacity);
+    }
+
+    @Benchmark
+    public void arrayQueue(Blackhole blackhole) {
+        for (Integer item : items) {
+            arrayQueue.enqueue(item);
+        }
+        while (!arrayQueue.isEmpty()) {
+            blackhole.consume(arrayQueue.poll());
+        }
+    }
+
+    @Benchmark
+    public void linkedListQueue(Blackhole blackhole) {
+        for (Integer item : items) {
+            linkedListQueue.enqueue(item);
+        }
+        while (!linkedListQueue.isEmpty()) {
+            blackhole.consume(linkedListQueue.poll());
+        }
+    }
+
+    @Benchmark
+    public void twoStackQueue(Blackhole blackhole) {
+        for (Integer item : items) {
+            twoStackQueue.enqueue(item);
+        }
+        while (!twoStackQueue.isEmpty()) {
+            blackhole.consume(twoStackQueue.dequeue());
+        }
+    }
+
+    @Benchmark
+    public void arrayDeque(Blackhole blackhole) {
+        for (Integer item : items) {
+            arrayDeque.addLast(item);
+        }
+        while (!arrayDeque.isEmpty()) {
+            blackhole.consume(arrayDeque.pollFirst());
+        }
+    }
+}
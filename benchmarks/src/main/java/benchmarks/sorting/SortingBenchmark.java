@@ -0,0 +1,115 @@
+package benchmarks.sorting;
+
+import benchmarks.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sorting.MergeSort;
+import sorting.NaturalMergeSort;
+import sorting.ParallelMergeSort;
+import sorting.RadixSort;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * int[] sorts of the sorting package against Arrays.sort.
+ * <p>
+ * Every benchmark sorts a fresh copy of the same input; {@link #copyOnly()} measures the copy
+ * alone, subtract it when comparing small sizes. The sorter instances live in the state, so the
+ * reusable temp buffers are warm, as in a long-running service.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SortingBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"RANDOM", "NEARLY_SORTED", "REVERSED", "FEW_UNIQUE"})
+    private Distribution distribution;
+
+    private int[] input;
+    private final MergeSort mergeSort = new MergeSort();
+    private final NaturalMergeSort naturalMergeSort = new NaturalMergeSort();
+    private final ParallelMergeSort parallelMergeSort = new ParallelMergeSort();
+    private final RadixSort radixSort = new RadixSort();
+
+    @Setup
+    public void setUp() {
+        input = distribution.ints(size, size);
+    }
+
+    @Benchmark
+    public int[] copyOnly() {
+        return input.clone();
+    }
+
+    @Benchmark
+    public int[] mergeSort() {
+        int[] a = input.clone();
+        mergeSort.mergeSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] mergeSortImproved() {
+        int[] a = input.clone();
+        mergeSort.mergeSortImproved(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] mergeSortBottomUp() {
+        int[] a = input.clone();
+        mergeSort.mergeSortBottomUp(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] naturalMergeSort() {
+        int[] a = input.clone();
+        naturalMergeSort.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] parallelMergeSort() {
+        int[] a = input.clone();
+        parallelMergeSort.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] radixSort() {
+        int[] a = input.clone();
+        radixSort.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        int[] a = input.clone();
+        Arrays.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] arraysParallelSort() {
+        int[] a = input.clone();
+        Arrays.parallelSort(a);
+        return a;
+    }
+}
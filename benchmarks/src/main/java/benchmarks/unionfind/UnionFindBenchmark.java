@@ -0,0 +1,82 @@
+package benchmarks.unionfind;
+
+import algorithms.dynamic.provinces.ConcurrentUnionFind;
+import algorithms.dynamic.provinces.GrowableUnionFind;
+import algorithms.dynamic.provinces.WeightedQuickUnionUF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Union-find variants replaying the same random edge list: n elements, 2n unions (enough to
+ * leave one giant component), one invocation = the whole replay on a fresh structure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class UnionFindBenchmark {
+
+    @Param({"65536", "1048576"})
+    private int n;
+
+    private int[] pairs; // p0, q0, p1, q1, ...
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        pairs = new int[4 * n];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = random.nextInt(n);
+        }
+    }
+
+    @Benchmark
+    public int weightedQuickUnion() {
+        WeightedQuickUnionUF uf = new WeightedQuickUnionUF(n);
+        for (int i = 0; i < pairs.length; i += 2) {
+            uf.union(pairs[i], pairs[i + 1]);
+        }
+        return uf.getCount();
+    }
+
+    @Benchmark
+    public int weightedQuickUnionBatch() {
+        WeightedQuickUnionUF uf = new WeightedQuickUnionUF(n);
+        uf.unionBatch(pairs, pairs.length / 2, 1);
+        return uf.getCount();
+    }
+
+    @Benchmark
+    public int concurrentUnionFind() {
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+        for (int i = 0; i < pairs.length; i += 2) {
+            uf.union(pairs[i], pairs[i + 1]);
+        }
+        return uf.getCount();
+    }
+
+    @Benchmark
+    public int growableUnionFind() {
+        GrowableUnionFind uf = new GrowableUnionFind();
+        for (int i = 0; i < pairs.length; i += 2) {
+            uf.add(pairs[i]);
+            uf.add(pairs[i + 1]);
+            uf.union(pairs[i], pairs[i + 1]);
+        }
+        return uf.getCount();
+    }
+}
@@ -0,0 +1,206 @@
+package algorithms.dynamic.connectivity;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Offline dynamic connectivity: edges are added and removed over time, and queries ask
+ * "are u and v connected?" or "how many components?" at a given moment.
+ * All operations are known up front (offline), which allows divide and conquer over time.
+ * <p>
+ * 1. Every edge is alive during an interval of queries [first query after add, first query after remove).
+ * 2. The intervals are inserted into a segment tree over the query indices: each interval is
+ *    split into O(log q) nodes that it fully covers.
+ * 3. DFS over the segment tree: entering a node applies its edges to a {@link RollbackUnionFind},
+ *    a leaf answers its query, leaving the node rolls the edges back.
+ * <p>
+ * Every edge is applied O(log q) times at O(log n) each:
+ * O((n + m) + m log q log n + q log n), instead of rebuilding connectivity for every query.
+ */
+public class OfflineDynamicConnectivity {
+
+    private static final int CONNECTED = 0;
+    private static final int COMPONENTS = 1;
+
+    private final int n;
+
+    // queries, in order
+    private int[] queryType = new int[16];
+    private int[] queryU = new int[16];
+    private int[] queryV = new int[16];
+    private int queries;
+
+    // edges currently alive: (u, v) → query index at which each copy became alive
+    private final Map<Long, ArrayDeque<Integer>> alive = new HashMap<>();
+
+    // closed intervals [from, to) of query indices, per edge
+    private int[] edgeU = new int[16];
+    private int[] edgeV = new int[16];
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private int edges;
+
+    public OfflineDynamicConnectivity(int n) {
+        this.n = n;
+    }
+
+    public void addEdge(int u, int v) {
+        validate(u, v);
+        alive.computeIfAbsent(key(u, v), k -> new ArrayDeque<>()).push(queries);
+    }
+
+    public void removeEdge(int u, int v) {
+        validate(u, v);
+        ArrayDeque<Integer> starts = alive.get(key(u, v));
+        if (starts == null || starts.isEmpty()) {
+            throw new IllegalArgumentException("Edge " + u + " - " + v + " is not in the graph");
+        }
+        closeInterval(u, v, starts.pop(), queries);
+    }
+
+    /**
+     * @return index of this query in the array returned by {@link #solve()}
+     */
+    public int queryConnected(int u, int v) {
+        validate(u, v);
+        return addQuery(CONNECTED, u, v);
+    }
+
+    /**
+     * @return index of this query in the array returned by {@link #solve()}
+     */
+    public int queryComponents() {
+        return addQuery(COMPONENTS, 0, 0);
+    }
+
+    /**
+     * @return one answer per query: 1/0 for connected queries, the count for component queries
+     */
+    public int[] solve() {
+        // edges still alive at the end cover every remaining query
+        int end = queries;
+        for (Map.Entry<Long, ArrayDeque<Integer>> entry : alive.entrySet()) {
+            int u = (int) (entry.getKey() >>> 32);
+            int v = (int) (long) entry.getKey();
+            for (int start : entry.getValue()) {
+                closeInterval(u, v, start, end);
+            }
+        }
+        alive.clear();
+
+        int[] answers = new int[queries];
+        if (queries == 0) return answers;
+
+        // segment tree over query indices; each node keeps a linked list of edge ids
+        int size = 1;
+        while (size < queries) size <<= 1;
+        int[] head = new int[2 * size];
+        Arrays.fill(head, -1);
+        // an interval is split into at most 2 nodes per tree level
+        int levels = Integer.numberOfTrailingZeros(size) + 1;
+        int[] next = new int[Math.multiplyExact(edges, 2 * levels)];
+        int[] edgeOf = new int[next.length];
+        int entries = 0;
+        for (int e = 0; e < edges; e++) {
+            // iterative segment tree insertion of [from, to)
+            for (int lo = edgeFrom[e] + size, hi = edgeTo[e] + size; lo < hi; lo >>= 1, hi >>= 1) {
+                if ((lo & 1) == 1) {
+                    edgeOf[entries] = e;
+                    next[entries] = head[lo];
+                    head[lo++] = entries++;
+                }
+                if ((hi & 1) == 1) {
+                    edgeOf[entries] = e;
+                    next[entries] = head[--hi];
+                    head[hi] = entries++;
+                }
+            }
+        }
+
+        RollbackUnionFind uf = new RollbackUnionFind(n);
+        solve(1, 0, size, head, next, edgeOf, uf, answers);
+        return answers;
+    }
+
+    private void solve(int node, int lo, int hi, int[] head, int[] next, int[] edgeOf,
+                       RollbackUnionFind uf, int[] answers) {
+        if (lo >= queries) return;
+
+        int checkpoint = uf.checkpoint();
+        for (int entry = head[node]; entry != -1; entry = next[entry]) {
+            uf.union(edgeU[edgeOf[entry]], edgeV[edgeOf[entry]]);
+        }
+
+        if (hi - lo == 1) {
+            answers[lo] = queryType[lo] == CONNECTED
+                    ? (uf.connected(queryU[lo], queryV[lo]) ? 1 : 0)
+                    : uf.getCount();
+        } else {
+            int mid = (lo + hi) >>> 1;
+            solve(2 * node, lo, mid, head, next, edgeOf, uf, answers);
+            solve(2 * node + 1, mid, hi, head, next, edgeOf, uf, answers);
+        }
+
+        uf.rollback(checkpoint);
+    }
+
+    private int addQuery(int type, int u, int v) {
+        if (queries == queryType.length) {
+            queryType = Arrays.copyOf(queryType, queries * 2);
+            queryU = Arrays.copyOf(queryU, queries * 2);
+            queryV = Arrays.copyOf(queryV, queries * 2);
+        }
+        queryType[queries] = type;
+        queryU[queries] = u;
+        queryV[queries] = v;
+        return queries++;
+    }
+
+    private void closeInterval(int u, int v, int from, int to) {
+        if (from == to) return; // added and removed between the same two queries
+        if (edges == edgeU.length) {
+            edgeU = Arrays.copyOf(edgeU, edges * 2);
+            edgeV = Arrays.copyOf(edgeV, edges * 2);
+            edgeFrom = Arrays.copyOf(edgeFrom, edges * 2);
+            edgeTo = Arrays.copyOf(edgeTo, edges * 2);
+        }
+        edgeU[edges] = u;
+        edgeV[edges] = v;
+        edgeFrom[edges] = from;
+        edgeTo[edges] = to;
+        edges++;
+    }
+
+    private void validate(int u, int v) {
+        if (u < 0 || v < 0 || u >= n || v >= n) {
+            throw new IllegalArgumentException("Invalid graph node indices.");
+        }
+    }
+
+    private static long key(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+
+    public static void main(String[] args) {
+        OfflineDynamicConnectivity connectivity = new OfflineDynamicConnectivity(4);
+        connectivity.addEdge(0, 1);
+        connectivity.addEdge(1, 2);
+        int q0 = connectivity.queryConnected(0, 2);  // true
+        int q1 = connectivity.queryComponents();     // 2: {0, 1, 2}, {3}
+        connectivity.removeEdge(1, 2);
+        int q2 = connectivity.queryConnected(0, 2);  // false
+        connectivity.addEdge(2, 3);
+        connectivity.addEdge(0, 3);
+        int q3 = connectivity.queryConnected(1, 2);  // true
+        int q4 = connectivity.queryComponents();     // 1
+
+        int[] answers = connectivity.solve();
+        System.out.println("0 ~ 2: " + (answers[q0] == 1));
+        System.out.println("Components: " + answers[q1]);
+        System.out.println("0 ~ 2 after removing 1 - 2: " + (answers[q2] == 1));
+        System.out.println("1 ~ 2 through 3: " + (answers[q3] == 1));
+        System.out.println("Components: " + answers[q4]);
+    }
+}
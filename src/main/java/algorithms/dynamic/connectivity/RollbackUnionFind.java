@@ -0,0 +1,91 @@
+package algorithms.dynamic.connectivity;
+
+/**
+ * Union-find that can undo its unions (in LIFO order).
+ * <p>
+ * Why no path compression?
+ * find() with path halving (WeightedQuickUnionUF) rewrites many id[] entries on every call,
+ * and those writes would all have to be recorded to undo them. Without compression a union
+ * changes exactly one parent link and one size, so undo is O(1):
+ * the undo stack only stores the root that was attached.
+ * <p>
+ * Union by size alone keeps every tree O(log n) deep, so find() is O(log n).
+ */
+public class RollbackUnionFind {
+
+    private final int[] parent;
+    private final int[] size;
+    private final int[] undo; // roots attached by successful unions, in order
+    private int undoSize;
+    private int count;
+
+    public RollbackUnionFind(int n) {
+        parent = new int[n];
+        size = new int[n];
+        undo = new int[Math.max(n - 1, 0)]; // at most n - 1 successful unions at a time
+        count = n;
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+    }
+
+    public int find(int p) {
+        while (p != parent[p]) {
+            p = parent[p];
+        }
+        return p;
+    }
+
+    public boolean connected(int p, int q) {
+        return find(p) == find(q);
+    }
+
+    /**
+     * @return true if two components were merged (the union can be undone)
+     */
+    public boolean union(int p, int q) {
+        int i = find(p);
+        int j = find(q);
+        if (i == j) return false;
+
+        // attach the smaller tree under the larger
+        if (size[i] > size[j]) {
+            int tmp = i;
+            i = j;
+            j = tmp;
+        }
+        parent[i] = j;
+        size[j] += size[i];
+        undo[undoSize++] = i;
+        count--;
+        return true;
+    }
+
+    /**
+     * @return a marker to pass to {@link #rollback(int)}
+     */
+    public int checkpoint() {
+        return undoSize;
+    }
+
+    /**
+     * Undo every union done after the checkpoint.
+     */
+    public void rollback(int checkpoint) {
+        if (checkpoint < 0 || checkpoint > undoSize) {
+            throw new IllegalArgumentException("Invalid checkpoint: " + checkpoint);
+        }
+        while (undoSize > checkpoint) {
+            int child = undo[--undoSize];
+            int root = parent[child];
+            size[root] -= size[child];
+            parent[child] = child;
+            count++;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,197 @@
+package algorithms.dynamic.friends;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads a friendship log ("timestamp memberA memberB" per line, sorted by timestamp) through
+ * memory-mapped windows and hands it out as primitive batches.
+ * <p>
+ * Pipelined: a background thread parses batch k + 1 while the caller unions batch k.
+ * Batches are recycled through a free queue, so after warm-up nothing is allocated per line.
+ * <p>
+ * The file is mapped in windows (a single MappedByteBuffer is limited to 2 GB); a line cut by
+ * the end of a window is parsed again from the start of the next window.
+ * Every batch records the byte offset right after its last line, so a caller can resume from it.
+ */
+class FriendLogReader implements AutoCloseable {
+
+    private static final long WINDOW_SIZE = 64L << 20; // 64 MB
+
+    static final class Batch {
+        final long[] timestamps;
+        final int[] pairs;
+        int size;
+        long endOffset;
+        boolean last;
+
+        Batch(int capacity) {
+            timestamps = new long[capacity];
+            pairs = new int[2 * capacity];
+        }
+    }
+
+    private final Path file;
+    private final long startOffset;
+    private final BlockingQueue<Batch> ready;
+    private final BlockingQueue<Batch> free;
+    private final Thread parser;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    /**
+     * @param file        log file
+     * @param startOffset byte offset of the first line to read (0, or an endOffset of a previous batch)
+     * @param batchSize   lines per batch
+     */
+    FriendLogReader(Path file, long startOffset, int batchSize) {
+        this.file = file;
+        this.startOffset = startOffset;
+        // two batches in flight: one being parsed, one being unioned
+        this.ready = new ArrayBlockingQueue<>(2);
+        this.free = new ArrayBlockingQueue<>(3);
+        for (int i = 0; i < 3; i++) {
+            free.add(new Batch(batchSize));
+        }
+        this.parser = new Thread(this::parse, "friend-log-parser");
+        this.parser.setDaemon(true);
+        this.parser.start();
+    }
+
+    /**
+     * Blocks until the next batch is parsed. The last batch has {@code last == true} (and may be empty).
+     */
+    Batch next() throws IOException, InterruptedException {
+        Batch batch = ready.take();
+        if (failure != null) {
+            throw new IOException("Failed to read friendship log " + file, failure);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns a batch to the reader once the caller is done with it.
+     */
+    void release(Batch batch) {
+        free.offer(batch);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        parser.interrupt();
+    }
+
+    private void parse() {
+        Batch batch = null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long position = startOffset;
+            batch = takeFree();
+
+            while (position < fileSize && !closed) {
+                long windowSize = Math.min(WINDOW_SIZE, fileSize - position);
+                boolean lastWindow = position + windowSize == fileSize;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+
+                int i = 0;
+                int limit = (int) windowSize;
+                while (i < limit) {
+                    int lineEnd = i;
+                    while (lineEnd < limit && window.get(lineEnd) != '\n') lineEnd++;
+                    if (lineEnd == limit && !lastWindow) {
+                        if (i == 0) {
+                            throw new IllegalStateException("Line longer than the mapping window at " + position);
+                        }
+                        break; // incomplete line, re-read it in the next window
+                    }
+
+                    if (parseLine(window, i, lineEnd, batch)) {
+                        batch.endOffset = position + Math.min(lineEnd + 1, limit);
+                        if (batch.size == batch.timestamps.length) {
+                            ready.put(batch);
+                            batch = takeFree();
+                        }
+                    }
+                    i = lineEnd + 1;
+                }
+                position += Math.min(i, limit);
+            }
+
+            if (batch.size == 0) batch.endOffset = position;
+            batch.last = true;
+            ready.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            failure = e;
+            Batch poison = batch != null ? batch : new Batch(0);
+            poison.last = true;
+            try {
+                ready.put(poison);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Batch takeFree() throws InterruptedException {
+        Batch batch = free.take();
+        batch.size = 0;
+        batch.last = false;
+        return batch;
+    }
+
+    /**
+     * Parses "timestamp a b" between from (inclusive) and to (exclusive).
+     *
+     * @return false for a blank line
+     */
+    private static boolean parseLine(MappedByteBuffer buffer, int from, int to, Batch batch) {
+        int k = batch.size;
+        int tokens = 0;
+        int i = from;
+        while (i < to) {
+            byte c = buffer.get(i);
+            if (c == ' ' || c == '\t' || c == ',' || c == '\r') {
+                i++;
+                continue;
+            }
+            if (tokens == 3) {
+                throw new IllegalArgumentException("Expected 'timestamp memberA memberB' per line");
+            }
+            boolean negative = c == '-';
+            if (negative) i++;
+            long value = 0;
+            int digits = 0;
+            while (i < to && (c = buffer.get(i)) >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits++;
+                i++;
+            }
+            if (digits == 0) {
+                throw new IllegalArgumentException("Not a number in friendship log line");
+            }
+            if (negative) value = -value;
+
+            // write straight into the batch, no per-line allocation
+            if (tokens == 0) {
+                batch.timestamps[k] = value;
+            } else {
+                batch.pairs[2 * k + tokens - 1] = (int) value;
+            }
+            tokens++;
+        }
+        if (tokens == 0) return false;
+        if (tokens != 3) {
+            throw new IllegalArgumentException("Expected 'timestamp memberA memberB' per line");
+        }
+        batch.size++;
+        return true;
+    }
+}
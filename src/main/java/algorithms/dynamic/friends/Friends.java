@@ -1,7 +1,12 @@
 package algorithms.dynamic.friends;
 
+import algorithms.dynamic.provinces.UnionFindSnapshot;
 import algorithms.dynamic.provinces.WeightedQuickUnionUF;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Given a social network containing
  * n members and a log file containing
@@ -9,7 +14,10 @@ import algorithms.dynamic.provinces.WeightedQuickUnionUF;
  */
 public class Friends {
 
-    public static void main(String[] args) {
+    private static final int BATCH_SIZE = 1 << 16;
+    private static final int CHECKPOINT_BATCHES = 256;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
         int[][] isConnected = {
                 {1, 0, 1},
                 {2, 1, 2},
@@ -22,20 +30,86 @@ public class Friends {
         int result = solution.findEarliestTime(isConnected);
         System.out.println("Earliest time at which all members are connected: " + result);
 
+        // same log, read from a file
+        Path log = Files.createTempFile("friends", ".log");
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (int[] entry : isConnected) {
+                lines.append(entry[0]).append(' ').append(entry[1]).append(' ').append(entry[2]).append('\n');
+            }
+            Files.writeString(log, lines);
+            System.out.println("Earliest time from the log file: " + findEarliestTime(log, 6));
+        } finally {
+            Files.delete(log);
+        }
     }
 
     private int findEarliestTime(int[][] isConnected) {
         int n = isConnected.length;
         WeightedQuickUnionUF uf = new WeightedQuickUnionUF(n);
 
-        for (int[] ints : isConnected) {
-            // connect friends
-            uf.union(ints[1], ints[2]);
-            if (uf.getCount() == 1) {
-                return ints[0];
+        // flatten the friendships into primitive pairs: member, member, member, member, ...
+        int[] pairs = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            pairs[2 * i] = isConnected[i][1];
+            pairs[2 * i + 1] = isConnected[i][2];
+        }
+
+        int index = uf.unionBatch(pairs, n, 1);
+        return index == -1 ? -1 : isConnected[index][0]; // -1: Not all members are connected
+    }
+
+    /**
+     * Earliest timestamp at which all members are connected, for logs too large for memory.
+     * <p>
+     * The log ("timestamp memberA memberB" per line, sorted by timestamp) is memory-mapped and
+     * parsed on a background thread in batches ({@link FriendLogReader}); every batch goes through
+     * {@link WeightedQuickUnionUF#unionBatch}, which drops already-connected pairs in parallel.
+     * Reading stops as soon as everyone is connected.
+     *
+     * @param log     log file
+     * @param members number of members, ids 0..members-1
+     * @return the timestamp, or -1 if the members never all become connected
+     */
+    public static long findEarliestTime(Path log, int members) throws IOException, InterruptedException {
+        return findEarliestTime(log, members, null);
+    }
+
+    /**
+     * Same as {@link #findEarliestTime(Path, int)}, but resumable: the union-find state is
+     * checkpointed to a snapshot file every {@value #CHECKPOINT_BATCHES} batches, and a restart
+     * restores the snapshot and replays only the log after the snapshot's offset.
+     *
+     * @param checkpoint snapshot file (created if missing), or null to disable checkpoints
+     */
+    public static long findEarliestTime(Path log, int members, Path checkpoint)
+            throws IOException, InterruptedException {
+        WeightedQuickUnionUF uf = new WeightedQuickUnionUF(members);
+        long offset = 0;
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            UnionFindSnapshot snapshot = UnionFindSnapshot.read(checkpoint);
+            if (snapshot.getUnionFind().size() != members) {
+                throw new IllegalArgumentException("Checkpoint was taken for a different number of members");
             }
+            uf = snapshot.getUnionFind();
+            offset = snapshot.getLogOffset();
+        }
 
+        try (FriendLogReader reader = new FriendLogReader(log, offset, BATCH_SIZE)) {
+            for (int batches = 1; ; batches++) {
+                FriendLogReader.Batch batch = reader.next();
+                int index = uf.unionBatch(batch.pairs, batch.size, 1);
+                if (index != -1) {
+                    return batch.timestamps[index];
+                }
+                if (checkpoint != null && (batch.last || batches % CHECKPOINT_BATCHES == 0)) {
+                    UnionFindSnapshot.write(uf, batch.endOffset, checkpoint);
+                }
+                if (batch.last) {
+                    return -1; // Not all members are connected
+                }
+                reader.release(batch);
+            }
         }
-        return -1; // Not all members are connected
     }
 }
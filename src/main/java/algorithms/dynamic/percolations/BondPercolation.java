@@ -0,0 +1,83 @@
+package algorithms.dynamic.percolations;
+
+/**
+ * Bond percolation on any {@link Lattice}: every site is open, the bonds (edges between
+ * neighbouring sites) are opened one by one.
+ * <p>
+ * Boundary sites are marked TOP/BOTTOM in the {@link SpanningUnionFind} up front, opening a
+ * bond is a single union, and the system percolates as soon as a union joins a TOP component
+ * with a BOTTOM one.
+ */
+public class BondPercolation {
+
+    private final Lattice lattice;
+    private final SpanningUnionFind uf;
+    private int openBonds;
+
+    public BondPercolation(Lattice lattice) {
+        this.lattice = lattice;
+        this.uf = new SpanningUnionFind(lattice.sites());
+        for (int site = 0; site < lattice.sites(); site++) {
+            if (lattice.isTop(site)) uf.mark(site, SpanningUnionFind.TOP);
+            if (lattice.isBottom(site)) uf.mark(site, SpanningUnionFind.BOTTOM);
+        }
+    }
+
+    /**
+     * Opens the bond between two neighbouring sites (the caller guarantees they are neighbours,
+     * e.g. by taking them from {@link #bonds(Lattice)}).
+     */
+    public void openBond(int p, int q) {
+        uf.union(p, q);
+        openBonds++;
+    }
+
+    // is the site connected to the top?
+    public boolean isFull(int site) {
+        return uf.touches(site, SpanningUnionFind.TOP);
+    }
+
+    public int numberOfOpenBonds() {
+        return openBonds;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        return uf.spans();
+    }
+
+    public Lattice getLattice() {
+        return lattice;
+    }
+
+    /**
+     * All bonds of the lattice, each once, as interleaved site pairs:
+     * bond b connects pairs[2b] and pairs[2b + 1].
+     */
+    public static int[] bonds(Lattice lattice) {
+        int[] neighbours = new int[lattice.maxDegree()];
+        long count = 0;
+        for (int site = 0; site < lattice.sites(); site++) {
+            int degree = lattice.neighbours(site, neighbours);
+            for (int k = 0; k < degree; k++) {
+                if (neighbours[k] > site) count++;
+            }
+        }
+        if (2 * count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many bonds: " + count);
+        }
+
+        int[] pairs = new int[(int) (2 * count)];
+        int i = 0;
+        for (int site = 0; site < lattice.sites(); site++) {
+            int degree = lattice.neighbours(site, neighbours);
+            for (int k = 0; k < degree; k++) {
+                if (neighbours[k] > site) {
+                    pairs[i++] = site;
+                    pairs[i++] = neighbours[k];
+                }
+            }
+        }
+        return pairs;
+    }
+}
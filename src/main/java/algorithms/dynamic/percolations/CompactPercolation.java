@@ -0,0 +1,130 @@
+package algorithms.dynamic.percolations;
+
+/**
+ * Memory-compact percolation system with the same API as {@link Percolation}.
+ * <p>
+ * Percolation keeps a boolean[][] grid plus two WeightedQuickUnionUF (one only to avoid
+ * backwash): about 17 bytes per site. Here:
+ * - open sites are a long[] bitset (1 bit per site, no per-row array headers),
+ * - one {@link SpanningUnionFind} tracks top/bottom contact per component root (5 bytes per site),
+ * so about 5.1 bytes per site: a 20000 x 20000 grid takes ~2 GB instead of ~6.8 GB.
+ * open() does one union per open neighbour instead of two, and percolates() is a field read.
+ * <p>
+ * By convention, the row and column indices are integers between 1 and n, (1, 1) is the upper-left site.
+ * The openSite/isOpenSite methods take a 0-based site index (row * n + col) for callers that
+ * already work with flat indices.
+ */
+public class CompactPercolation {
+
+    private final int n;
+    private final long[] open;
+    private final SpanningUnionFind uf;
+    private int openSites;
+
+    public CompactPercolation(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Grid size must be greater than 0");
+        }
+        if ((long) n * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid size too large: " + n);
+        }
+        this.n = n;
+        this.open = new long[(n * n + 63) >>> 6];
+        this.uf = new SpanningUnionFind(n * n);
+    }
+
+    // opens the site (row, col) if it is not open already
+    public void open(int row, int col) {
+        validateIndices(row, col);
+        openSite((row - 1) * n + (col - 1));
+    }
+
+    /**
+     * Opens the site with 0-based index row * n + col, if it is not open already.
+     */
+    public void openSite(int site) {
+        if (isOpenSite(site)) return;
+        open[site >>> 6] |= 1L << site;
+        openSites++;
+
+        int row = site / n;
+        int col = site - row * n;
+
+        if (row == 0) uf.mark(site, SpanningUnionFind.TOP);
+        if (row == n - 1) uf.mark(site, SpanningUnionFind.BOTTOM);
+
+        // Connect this site to any open neighboring sites (up, down, left, right).
+        if (row > 0 && isOpenSite(site - n)) uf.union(site, site - n);
+        if (row < n - 1 && isOpenSite(site + n)) uf.union(site, site + n);
+        if (col > 0 && isOpenSite(site - 1)) uf.union(site, site - 1);
+        if (col < n - 1 && isOpenSite(site + 1)) uf.union(site, site + 1);
+    }
+
+    // is the site (row, col) open?
+    public boolean isOpen(int row, int col) {
+        validateIndices(row, col);
+        return isOpenSite((row - 1) * n + (col - 1));
+    }
+
+    public boolean isOpenSite(int site) {
+        return (open[site >>> 6] & (1L << site)) != 0;
+    }
+
+    // is the site (row, col) full?
+    public boolean isFull(int row, int col) {
+        validateIndices(row, col);
+        int site = (row - 1) * n + (col - 1);
+        return isOpenSite(site) && uf.touches(site, SpanningUnionFind.TOP);
+    }
+
+    // returns the number of open sites
+    public int numberOfOpenSites() {
+        return openSites;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        return uf.spans();
+    }
+
+    public int size() {
+        return n;
+    }
+
+    private void validateIndices(int row, int col) {
+        if (row <= 0 || row > n || col <= 0 || col > n) {
+            throw new IllegalArgumentException("row and col must be between 1 and n");
+        }
+    }
+
+    // test client: same checks as Percolation, plus a backwash check
+    public static void main(String[] args) {
+        // Test 1: 1x1 grid should percolate after opening the only site
+        CompactPercolation perc1 = new CompactPercolation(1);
+        perc1.open(1, 1);
+        System.out.println("Test 1 (1x1 grid percolates): " + perc1.percolates()); // Expected: true
+
+        // Test 2: 3x3 vertical percolation
+        CompactPercolation perc2 = new CompactPercolation(3);
+        perc2.open(1, 2);
+        perc2.open(2, 2);
+        perc2.open(3, 2);
+        System.out.println("Test 2 (3x3 vertical percolation): " + perc2.percolates()); // Expected: true
+
+        // Test 3: Diagonal open should NOT percolate
+        CompactPercolation perc3 = new CompactPercolation(3);
+        perc3.open(1, 1);
+        perc3.open(2, 2);
+        perc3.open(3, 3);
+        System.out.println("Test 3 (3x3 diagonal open): " + perc3.percolates()); // Expected: false
+
+        // Test 4: no backwash, (3, 3) touches the bottom of a percolating system but not the top
+        CompactPercolation perc4 = new CompactPercolation(3);
+        perc4.open(1, 1);
+        perc4.open(2, 1);
+        perc4.open(3, 1);
+        perc4.open(3, 3);
+        System.out.println("Test 4.1 (percolates): " + perc4.percolates()); // Expected: true
+        System.out.println("Test 4.2 (isFull 3,3): " + perc4.isFull(3, 3)); // Expected: false
+    }
+}
@@ -0,0 +1,61 @@
+package algorithms.dynamic.percolations;
+
+/**
+ * n x n x n simple cubic lattice, 6 neighbours. Site index = (z * n + y) * n + x.
+ * A cluster spans when it connects the z = 0 face (top) to the z = n - 1 face (bottom).
+ * Site threshold ≈ 0.3116, bond threshold ≈ 0.2488.
+ */
+public final class CubicLattice implements Lattice {
+
+    private final int n;
+    private final int layer; // n * n, sites per z layer
+
+    public CubicLattice(int n) {
+        if (n <= 0 || (long) n * n * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size: " + n);
+        }
+        this.n = n;
+        this.layer = n * n;
+    }
+
+    @Override
+    public int sites() {
+        return layer * n;
+    }
+
+    @Override
+    public int maxDegree() {
+        return 6;
+    }
+
+    @Override
+    public int neighbours(int site, int[] out) {
+        int z = site / layer;
+        int rest = site - z * layer;
+        int y = rest / n;
+        int x = rest - y * n;
+        int count = 0;
+        if (z > 0) out[count++] = site - layer;
+        if (z < n - 1) out[count++] = site + layer;
+        if (y > 0) out[count++] = site - n;
+        if (y < n - 1) out[count++] = site + n;
+        if (x > 0) out[count++] = site - 1;
+        if (x < n - 1) out[count++] = site + 1;
+        return count;
+    }
+
+    @Override
+    public boolean isTop(int site) {
+        return site < layer;
+    }
+
+    @Override
+    public boolean isBottom(int site) {
+        return site >= layer * (n - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "cubic " + n + "x" + n + "x" + n;
+    }
+}
@@ -0,0 +1,60 @@
+package algorithms.dynamic.percolations;
+
+/**
+ * n x n hexagonal (honeycomb) lattice, 3 neighbours.
+ * <p>
+ * Stored as a "brick wall": every site is connected to its left and right neighbours, and to
+ * the site below when row + col is even, otherwise to the site above. Topologically the same as
+ * a honeycomb. Site threshold ≈ 0.6970, bond threshold ≈ 0.6527.
+ */
+public final class HexagonalLattice implements Lattice {
+
+    private final int n;
+
+    public HexagonalLattice(int n) {
+        if (n <= 0 || (long) n * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size: " + n);
+        }
+        this.n = n;
+    }
+
+    @Override
+    public int sites() {
+        return n * n;
+    }
+
+    @Override
+    public int maxDegree() {
+        return 3;
+    }
+
+    @Override
+    public int neighbours(int site, int[] out) {
+        int row = site / n;
+        int col = site - row * n;
+        int count = 0;
+        if (((row + col) & 1) == 0) {
+            if (row < n - 1) out[count++] = site + n;
+        } else {
+            if (row > 0) out[count++] = site - n;
+        }
+        if (col > 0) out[count++] = site - 1;
+        if (col < n - 1) out[count++] = site + 1;
+        return count;
+    }
+
+    @Override
+    public boolean isTop(int site) {
+        return site < n;
+    }
+
+    @Override
+    public boolean isBottom(int site) {
+        return site >= n * (n - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "hexagonal " + n + "x" + n;
+    }
+}
@@ -0,0 +1,304 @@
+package algorithms.dynamic.percolations;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Hoshen–Kopelman cluster labeling of a whole grid.
+ * <p>
+ * Percolation answers one isFull query at a time. To get every cluster (sizes, which clusters
+ * span top to bottom) it is much cheaper to label the grid in one raster scan:
+ * - Every open site looks at its up and left neighbours only. No open neighbour: new provisional
+ *   label. One: copy it. Two different ones: union them and copy the smaller.
+ *   Provisional labels are site indices (the site where the label was created), so the
+ *   union-find over labels is a plain int[] of the grid size and needs no label counter.
+ * <p>
+ * Parallel version:
+ * 1. The rows are cut into strips and every strip is scanned independently (it ignores the row
+ *    above its first row). A strip only creates and links labels inside its own index range,
+ *    so the strips share the arrays without synchronization.
+ * 2. Sequential boundary merge: the first row of every strip is unioned with the last row of the
+ *    previous one, O(cols) per strip.
+ * 3. Parallel: every label is replaced by its root (read-only finds, parent is no longer written).
+ * 4. Sequential, linear: roots get dense cluster ids 0..count-1, sizes are counted and the
+ *    clusters touching the top and the bottom row are flagged.
+ */
+public class HoshenKopelman {
+
+    private static final int MIN_STRIP_ROWS = 64;
+
+    private HoshenKopelman() {
+    }
+
+    /**
+     * Result of a labeling. Cluster ids are dense: 0..getClusterCount()-1.
+     */
+    public static class Result {
+        private final int rows;
+        private final int cols;
+        private final int[] labels;
+        private final int[] sizes;
+        private final boolean[] spanning;
+
+        private Result(int rows, int cols, int[] labels, int[] sizes, boolean[] spanning) {
+            this.rows = rows;
+            this.cols = cols;
+            this.labels = labels;
+            this.sizes = sizes;
+            this.spanning = spanning;
+        }
+
+        public int getClusterCount() {
+            return sizes.length;
+        }
+
+        /**
+         * @return cluster id of the site (0-based row and col), -1 if the site is blocked
+         */
+        public int getLabel(int row, int col) {
+            return labels[row * cols + col];
+        }
+
+        /**
+         * @return cluster id per site (row-major), -1 for blocked sites
+         */
+        public int[] getLabels() {
+            return labels;
+        }
+
+        /**
+         * @return number of sites per cluster id
+         */
+        public int[] getSizes() {
+            return sizes;
+        }
+
+        /**
+         * @return true if the cluster connects the top row to the bottom row
+         */
+        public boolean isSpanning(int cluster) {
+            return spanning[cluster];
+        }
+
+        public boolean percolates() {
+            for (boolean s : spanning) {
+                if (s) return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return cluster size -> number of clusters with that size
+         */
+        public Map<Integer, Integer> sizeDistribution() {
+            Map<Integer, Integer> distribution = new TreeMap<>();
+            for (int size : sizes) {
+                distribution.merge(size, 1, Integer::sum);
+            }
+            return distribution;
+        }
+
+        public int largestCluster() {
+            int largest = 0;
+            for (int size : sizes) {
+                largest = Math.max(largest, size);
+            }
+            return largest;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getCols() {
+            return cols;
+        }
+    }
+
+    public static Result label(int rows, int cols, long[] open) {
+        return label(rows, cols, open, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param open row-major bitset of open sites: site row * cols + col is open when bit
+     *             (site & 63) of open[site >>> 6] is set
+     */
+    public static Result label(int rows, int cols, long[] open, ForkJoinPool pool) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size: " + rows + "x" + cols);
+        }
+        int sites = rows * cols;
+        if (open.length < (sites + 63) >>> 6) {
+            throw new IllegalArgumentException("open bitset too short for " + sites + " sites");
+        }
+
+        int stripRows = Math.max(MIN_STRIP_ROWS, (rows + pool.getParallelism() * 4 - 1) / (pool.getParallelism() * 4));
+        int strips = (rows + stripRows - 1) / stripRows;
+        int[] labels = new int[sites];
+        int[] parent = new int[sites];
+
+        // 1. scan the strips independently
+        forEachStrip(pool, strips, strip -> {
+            int from = strip * stripRows;
+            scan(open, cols, from, Math.min(rows, from + stripRows), labels, parent);
+        });
+
+        // 2. merge labels across strip boundaries
+        for (int strip = 1; strip < strips; strip++) {
+            int first = strip * stripRows * cols;
+            for (int site = first; site < first + cols; site++) {
+                if (isOpen(open, site) && isOpen(open, site - cols)) {
+                    union(parent, labels[site], labels[site - cols]);
+                }
+            }
+        }
+
+        // 3. resolve every label to its root
+        forEachStrip(pool, strips, strip -> {
+            int from = strip * stripRows * cols;
+            int to = Math.min(rows, (strip + 1) * stripRows) * cols;
+            for (int site = from; site < to; site++) {
+                labels[site] = isOpen(open, site) ? root(parent, labels[site]) : -1;
+            }
+        });
+
+        // 4. dense ids, sizes and spanning flags; parent is reused as root -> id
+        int count = 0;
+        for (int site = 0; site < sites; site++) {
+            if (labels[site] == site) parent[site] = count++;
+        }
+        int[] sizes = new int[count];
+        for (int site = 0; site < sites; site++) {
+            if (labels[site] >= 0) {
+                int id = parent[labels[site]];
+                labels[site] = id;
+                sizes[id]++;
+            }
+        }
+        boolean[] top = new boolean[count];
+        boolean[] spanning = new boolean[count];
+        for (int col = 0; col < cols; col++) {
+            if (labels[col] >= 0) top[labels[col]] = true;
+        }
+        for (int site = (rows - 1) * cols; site < sites; site++) {
+            if (labels[site] >= 0 && top[labels[site]]) spanning[labels[site]] = true;
+        }
+        return new Result(rows, cols, labels, sizes, spanning);
+    }
+
+    /**
+     * Raster scan of rows [fromRow, toRow) as if fromRow were the top of the grid.
+     */
+    private static void scan(long[] open, int cols, int fromRow, int toRow, int[] labels, int[] parent) {
+        for (int row = fromRow; row < toRow; row++) {
+            int rowStart = row * cols;
+            for (int site = rowStart; site < rowStart + cols; site++) {
+                if (!isOpen(open, site)) continue;
+                boolean up = row > fromRow && isOpen(open, site - cols);
+                boolean left = site > rowStart && isOpen(open, site - 1);
+                if (up && left) {
+                    labels[site] = union(parent, labels[site - cols], labels[site - 1]);
+                } else if (up) {
+                    labels[site] = labels[site - cols];
+                } else if (left) {
+                    labels[site] = labels[site - 1];
+                } else {
+                    labels[site] = site;
+                    parent[site] = site;
+                }
+            }
+        }
+    }
+
+    /**
+     * Links the larger root under the smaller one, so a root is always the lowest site index of
+     * its cluster and labels of a strip never point into a later strip.
+     *
+     * @return the new root
+     */
+    private static int union(int[] parent, int p, int q) {
+        int i = find(parent, p);
+        int j = find(parent, q);
+        if (i < j) {
+            parent[j] = i;
+            return i;
+        }
+        parent[i] = j;
+        return j;
+    }
+
+    // find with path halving
+    private static int find(int[] parent, int p) {
+        while (p != parent[p]) {
+            parent[p] = parent[parent[p]];
+            p = parent[p];
+        }
+        return p;
+    }
+
+    // find without writes, safe to call from several threads
+    private static int root(int[] parent, int p) {
+        while (p != parent[p]) {
+            p = parent[p];
+        }
+        return p;
+    }
+
+    private static boolean isOpen(long[] open, int site) {
+        return (open[site >>> 6] & (1L << site)) != 0;
+    }
+
+    private static void forEachStrip(ForkJoinPool pool, int strips, IntConsumer action) {
+        // the caller picks the pool: main() labels on a 1-thread pool to time the sequential case,
+        // which only works if the strip stream is started from a task of that pool
+        pool.submit(() -> IntStream.range(0, strips).parallel().forEach(action)).join();
+    }
+
+    /**
+     * Random grid where every site is open independently with probability p.
+     */
+    public static long[] randomGrid(int rows, int cols, double p, SplittableRandom random) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size: " + rows + "x" + cols);
+        }
+        if (p < 0 || p > 1) {
+            throw new IllegalArgumentException("p must be between 0 and 1");
+        }
+        int sites = rows * cols;
+        long[] open = new long[(sites + 63) >>> 6];
+        for (int site = 0; site < sites; site++) {
+            if (random.nextDouble() < p) open[site >>> 6] |= 1L << site;
+        }
+        return open;
+    }
+
+    // test client: [n] [p] [seed]
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        double p = args.length > 1 ? Double.parseDouble(args[1]) : 0.5927;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        long[] open = randomGrid(n, n, p, new SplittableRandom(seed));
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        long start = System.nanoTime();
+        Result sequential = label(n, n, open, single);
+        long sequentialTime = System.nanoTime() - start;
+        single.shutdown();
+
+        start = System.nanoTime();
+        Result parallel = label(n, n, open);
+        long parallelTime = System.nanoTime() - start;
+
+        System.out.println("clusters = " + parallel.getClusterCount() + " (sequential: " + sequential.getClusterCount() + ")");
+        System.out.println("largest cluster = " + parallel.largestCluster());
+        System.out.println("percolates = " + parallel.percolates());
+        System.out.println("clusters of size 1..5 = " + parallel.sizeDistribution().entrySet().stream().limit(5).toList());
+        System.out.printf("1 thread: %.0f ms, %d threads: %.0f ms%n",
+                sequentialTime / 1e6, ForkJoinPool.commonPool().getParallelism(), parallelTime / 1e6);
+    }
+}
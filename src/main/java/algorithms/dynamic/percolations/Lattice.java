@@ -0,0 +1,35 @@
+package algorithms.dynamic.percolations;
+
+/**
+ * Neighbourhood strategy of a percolation lattice.
+ * <p>
+ * Sites are numbered 0..sites()-1. The "top" and "bottom" boundaries are the two opposite faces
+ * a spanning cluster has to connect.
+ * <p>
+ * neighbours() writes into a caller-owned buffer instead of returning a list, so the hot loop of
+ * {@link LatticePercolation} allocates nothing. The implementations are small final classes: while
+ * a JVM only ever runs one lattice, the call site stays monomorphic and the JIT can inline the
+ * neighbour arithmetic like the hardcoded four-neighbour code in {@link Percolation}. Running
+ * several lattices in the same JVM makes it megamorphic, so compare their speed in separate
+ * JVMs (LatticeBenchmark in the benchmarks module forks per lattice).
+ */
+public interface Lattice {
+
+    int sites();
+
+    /**
+     * @return upper bound of the number of neighbours of a site (size of the neighbours() buffer)
+     */
+    int maxDegree();
+
+    /**
+     * Writes the neighbours of site into out.
+     *
+     * @return the number of neighbours written
+     */
+    int neighbours(int site, int[] out);
+
+    boolean isTop(int site);
+
+    boolean isBottom(int site);
+}
@@ -0,0 +1,102 @@
+package algorithms.dynamic.percolations;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Site percolation on any {@link Lattice}.
+ * <p>
+ * {@link CompactPercolation} generalized: open sites in a long[] bitset, one
+ * {@link SpanningUnionFind} with TOP/BOTTOM flags, and the neighbours of an opened site come
+ * from the lattice strategy instead of hardcoded up/down/left/right.
+ * Sites are 0-based lattice indices.
+ */
+public class LatticePercolation {
+
+    private final Lattice lattice;
+    private final long[] open;
+    private final SpanningUnionFind uf;
+    private final int[] neighbours;
+    private int openSites;
+
+    public LatticePercolation(Lattice lattice) {
+        this.lattice = lattice;
+        this.open = new long[(lattice.sites() + 63) >>> 6];
+        this.uf = new SpanningUnionFind(lattice.sites());
+        this.neighbours = new int[lattice.maxDegree()];
+    }
+
+    // opens the site if it is not open already
+    public void open(int site) {
+        validate(site);
+        if (isOpenSite(site)) return;
+        open[site >>> 6] |= 1L << site;
+        openSites++;
+
+        if (lattice.isTop(site)) uf.mark(site, SpanningUnionFind.TOP);
+        if (lattice.isBottom(site)) uf.mark(site, SpanningUnionFind.BOTTOM);
+
+        int degree = lattice.neighbours(site, neighbours);
+        for (int k = 0; k < degree; k++) {
+            if (isOpenSite(neighbours[k])) uf.union(site, neighbours[k]);
+        }
+    }
+
+    public boolean isOpen(int site) {
+        validate(site);
+        return isOpenSite(site);
+    }
+
+    // is the site open and connected to the top?
+    public boolean isFull(int site) {
+        validate(site);
+        return isOpenSite(site) && uf.touches(site, SpanningUnionFind.TOP);
+    }
+
+    public int numberOfOpenSites() {
+        return openSites;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        return uf.spans();
+    }
+
+    public Lattice getLattice() {
+        return lattice;
+    }
+
+    private boolean isOpenSite(int site) {
+        return (open[site >>> 6] & (1L << site)) != 0;
+    }
+
+    private void validate(int site) {
+        if (site < 0 || site >= lattice.sites()) {
+            throw new IllegalArgumentException("site must be between 0 and " + (lattice.sites() - 1));
+        }
+    }
+
+    // test client: percolation thresholds of every lattice [n2d] [n3d] [trials]
+    // (no timings: all lattices share one JVM here, see the Lattice doc)
+    public static void main(String[] args) {
+        int n2d = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int n3d = args.length > 1 ? Integer.parseInt(args[1]) : 48;
+        int trials = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        Lattice[] lattices = {
+                new SquareLattice(n2d),
+                new TriangularLattice(n2d),
+                new HexagonalLattice(n2d),
+                new CubicLattice(n3d)
+        };
+        for (Lattice lattice : lattices) {
+            threshold("site", lattice, PercolationTrials.sites(lattice), trials);
+            threshold("bond", lattice, PercolationTrials.bonds(lattice), trials);
+        }
+    }
+
+    private static void threshold(String kind, Lattice lattice, PercolationTrial trial, int trials) {
+        ParallelPercolationStats stats = new ParallelPercolationStats(trials, 42, trial, ForkJoinPool.commonPool());
+        System.out.printf("%-4s %-22s threshold = %.4f +/- %.4f%n",
+                kind, lattice, stats.mean(), stats.confidenceHi() - stats.mean());
+    }
+}
@@ -0,0 +1,115 @@
+package algorithms.dynamic.percolations;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel version of {@link PercolationStats}.
+ * <p>
+ * PercolationStats runs its trials one after another and draws from StdRandom, a single global
+ * generator. Here:
+ * - Trials run on a fork-join pool: the trial range is split in halves down to single trials.
+ * - Every trial gets its own SplittableRandom stream, split from one root generator in trial
+ *   order. Trial t always sees the same numbers for a given seed, whichever thread runs it.
+ * - Thresholds are not stored: every task aggregates its trials with Welford's method
+ *   ({@link RunningStats}) and the halves are merged. The split tree is fixed, so the merge
+ *   order (and the floating point result) is reproducible too.
+ */
+public class ParallelPercolationStats {
+
+    private static final double CONFIDENCE_95 = 1.96;
+    private final RunningStats stats;
+
+    // perform independent trials on an n-by-n grid, opening sites in random permutation order
+    public ParallelPercolationStats(int n, int trials, long seed) {
+        this(trials, seed, PercolationTrials.permutation(n), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param trials number of independent trials
+     * @param seed   root seed, the same seed reproduces the same statistics
+     * @param trial  the experiment to run
+     * @param pool   pool running the trials
+     */
+    public ParallelPercolationStats(int trials, long seed, PercolationTrial trial, ForkJoinPool pool) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("trials must be greater than 0");
+        }
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[trials];
+        for (int t = 0; t < trials; t++) {
+            streams[t] = root.split();
+        }
+        this.stats = pool.invoke(new TrialTask(trial, streams, 0, trials));
+    }
+
+    private static class TrialTask extends RecursiveTask<RunningStats> {
+        private final PercolationTrial trial;
+        private final SplittableRandom[] streams;
+        private final int from;
+        private final int to;
+
+        TrialTask(PercolationTrial trial, SplittableRandom[] streams, int from, int to) {
+            this.trial = trial;
+            this.streams = streams;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RunningStats compute() {
+            if (to - from == 1) {
+                RunningStats stats = new RunningStats();
+                stats.add(trial.run(streams[from]));
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            TrialTask left = new TrialTask(trial, streams, from, mid);
+            left.fork();
+            RunningStats right = new TrialTask(trial, streams, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    public long trials() {
+        return stats.getCount();
+    }
+
+    // sample mean of percolation threshold
+    public double mean() {
+        return stats.mean();
+    }
+
+    // sample standard deviation of percolation threshold
+    public double stddev() {
+        return stats.stddev();
+    }
+
+    // low endpoint of 95% confidence interval
+    public double confidenceLo() {
+        return mean() - (CONFIDENCE_95 * stddev()) / Math.sqrt(trials());
+    }
+
+    // high endpoint of 95% confidence interval
+    public double confidenceHi() {
+        return mean() + (CONFIDENCE_95 * stddev()) / Math.sqrt(trials());
+    }
+
+    // test client: n trials [seed]
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int trials = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        long start = System.nanoTime();
+        ParallelPercolationStats stats = new ParallelPercolationStats(n, trials, seed);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println("mean = " + stats.mean());
+        System.out.println("stddev = " + stats.stddev());
+        System.out.println("95% confidence interval = [" + stats.confidenceLo() + ", " + stats.confidenceHi() + "]");
+        System.out.printf("%d trials on %d threads in %.0f ms%n",
+                trials, ForkJoinPool.commonPool().getParallelism(), elapsed / 1e6);
+    }
+}
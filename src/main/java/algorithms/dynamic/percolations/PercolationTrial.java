@@ -0,0 +1,19 @@
+package algorithms.dynamic.percolations;
+
+import java.util.SplittableRandom;
+
+/**
+ * One Monte Carlo percolation experiment.
+ * <p>
+ * A trial must use only the random stream it is given (never a shared/global generator like
+ * StdRandom), so trials can run on any thread and the same seed always gives the same results.
+ */
+@FunctionalInterface
+public interface PercolationTrial {
+
+    /**
+     * @param random the trial's own random stream
+     * @return the estimated percolation threshold (fraction of open sites when it percolates)
+     */
+    double run(SplittableRandom random);
+}
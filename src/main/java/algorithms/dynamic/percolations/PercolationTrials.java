@@ -0,0 +1,181 @@
+package algorithms.dynamic.percolations;
+
+import algorithms.dynamic.connectivity.RollbackUnionFind;
+
+import java.util.SplittableRandom;
+
+/**
+ * Factory of {@link PercolationTrial} strategies.
+ */
+public class PercolationTrials {
+
+    private PercolationTrials() {
+    }
+
+    /**
+     * The classic experiment (same as PercolationStats): pick a random (row, col) until the
+     * system percolates; already open picks are rejected by Percolation.open.
+     */
+    public static PercolationTrial randomSites(int n) {
+        validate(n);
+        return random -> {
+            Percolation perc = new Percolation(n);
+            while (!perc.percolates()) {
+                perc.open(random.nextInt(1, n + 1), random.nextInt(1, n + 1));
+            }
+            return (double) perc.numberOfOpenSites() / ((double) n * n);
+        };
+    }
+
+    /**
+     * Opens the sites in the order of a random permutation: no rejected picks, exactly one
+     * open() per site.
+     * <p>
+     * Fisher–Yates, done incrementally: step k swaps a random not-yet-opened site into slot k
+     * and opens it, so a trial only shuffles as far as it needs (about 59% of the grid).
+     * percolates() is only checked once at least n sites are open (fewer can never
+     * connect the top row to the bottom row).
+     * Runs on {@link CompactPercolation} with flat site indices.
+     */
+    public static PercolationTrial permutation(int n) {
+        validate(n);
+        return random -> {
+            int sites = n * n;
+            int[] order = identity(sites);
+            CompactPercolation perc = new CompactPercolation(n);
+            for (int k = 0; k < sites; k++) {
+                perc.openSite(swapRandomInto(order, k, random));
+                if (k + 1 >= n && perc.percolates()) {
+                    return (double) (k + 1) / sites;
+                }
+            }
+            return 1.0; // unreachable: a fully open grid percolates
+        };
+    }
+
+    /**
+     * Binary search for the threshold over a precomputed random permutation.
+     * <p>
+     * "Opening the first k sites percolates" is monotone in k, so the smallest such k is found
+     * with O(log N) probes. The grid is never rebuilt: it always holds the longest prefix known
+     * not to percolate, and a probe only opens the sites between that prefix and mid. A probe
+     * that percolates is undone with {@link RollbackUnionFind#rollback(int)}, one that does not
+     * becomes the new prefix. The deltas halve with the search interval, so a trial opens
+     * about N sites in total (not N per probe), and the percolation check runs O(log N) times.
+     * For the same permutation it gives exactly the same threshold as {@link #permutation(int)}.
+     */
+    public static PercolationTrial bisection(int n) {
+        validate(n);
+        return random -> {
+            int sites = n * n;
+            int[] order = identity(sites);
+            for (int k = 0; k < sites; k++) {
+                swapRandomInto(order, k, random);
+            }
+
+            // sites + virtual top (index sites) and bottom (sites + 1): only percolates() is
+            // asked, so the backwash of a shared bottom node does not matter
+            RollbackUnionFind uf = new RollbackUnionFind(sites + 2);
+            boolean[] open = new boolean[sites];
+            int prefix = 0;  // order[0..prefix) is open and does not percolate
+            int lo = n;      // fewer than n open sites never percolate
+            int hi = sites;  // the full grid always percolates
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int checkpoint = uf.checkpoint();
+                for (int k = prefix; k < mid; k++) {
+                    openSite(uf, open, n, order[k]);
+                }
+                if (uf.connected(sites, sites + 1)) {
+                    uf.rollback(checkpoint);
+                    for (int k = prefix; k < mid; k++) {
+                        open[order[k]] = false;
+                    }
+                    hi = mid;
+                } else {
+                    prefix = mid;
+                    lo = mid + 1;
+                }
+            }
+            return (double) lo / sites;
+        };
+    }
+
+    /**
+     * Site percolation on any lattice, sites opened in random permutation order.
+     */
+    public static PercolationTrial sites(Lattice lattice) {
+        return random -> {
+            int sites = lattice.sites();
+            int[] order = identity(sites);
+            LatticePercolation perc = new LatticePercolation(lattice);
+            for (int k = 0; k < sites; k++) {
+                perc.open(swapRandomInto(order, k, random));
+                if (perc.percolates()) {
+                    return (double) (k + 1) / sites;
+                }
+            }
+            return 1.0; // unreachable: a fully open lattice percolates
+        };
+    }
+
+    /**
+     * Bond percolation on any lattice, bonds opened in random permutation order.
+     * Returns the fraction of open bonds when the system first percolates.
+     * The bond list is built once here and shared (read-only) by all trials.
+     */
+    public static PercolationTrial bonds(Lattice lattice) {
+        int[] pairs = BondPercolation.bonds(lattice);
+        int bonds = pairs.length / 2;
+        return random -> {
+            BondPercolation perc = new BondPercolation(lattice);
+            if (perc.percolates()) return 0.0; // single layer: top and bottom are the same sites
+            int[] order = identity(bonds);
+            for (int k = 0; k < bonds; k++) {
+                int bond = swapRandomInto(order, k, random);
+                perc.openBond(pairs[2 * bond], pairs[2 * bond + 1]);
+                if (perc.percolates()) {
+                    return (double) (k + 1) / bonds;
+                }
+            }
+            return 1.0; // unreachable: a fully bonded lattice percolates
+        };
+    }
+
+    private static void openSite(RollbackUnionFind uf, boolean[] open, int n, int site) {
+        open[site] = true;
+        int row = site / n;
+        int col = site - row * n;
+        if (row == 0) uf.union(site, n * n);
+        if (row == n - 1) uf.union(site, n * n + 1);
+        if (row > 0 && open[site - n]) uf.union(site, site - n);
+        if (row < n - 1 && open[site + n]) uf.union(site, site + n);
+        if (col > 0 && open[site - 1]) uf.union(site, site - 1);
+        if (col < n - 1 && open[site + 1]) uf.union(site, site + 1);
+    }
+
+    private static int[] identity(int sites) {
+        int[] order = new int[sites];
+        for (int i = 0; i < sites; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    /**
+     * One Fisher–Yates step: move a uniformly random element of order[k..] to position k.
+     */
+    private static int swapRandomInto(int[] order, int k, SplittableRandom random) {
+        int j = random.nextInt(k, order.length);
+        int site = order[j];
+        order[j] = order[k];
+        order[k] = site;
+        return site;
+    }
+
+    private static void validate(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Grid size must be greater than 0");
+        }
+    }
+}
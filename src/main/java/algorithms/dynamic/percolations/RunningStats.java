@@ -0,0 +1,59 @@
+package algorithms.dynamic.percolations;
+
+/**
+ * Online mean and variance (Welford's method).
+ * <p>
+ * Keeps count, mean and M2 (sum of squared distances from the mean) and updates them per value,
+ * so no array of samples is stored and there is no catastrophic cancellation
+ * like in sum(x^2) - sum(x)^2 / n.
+ * <p>
+ * Two partial results are combined with Chan's formula, which lets parallel tasks aggregate
+ * their own trials and merge at the end.
+ */
+public class RunningStats {
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * Merge the statistics of another (disjoint) set of values into this one.
+     */
+    public RunningStats merge(RunningStats other) {
+        if (other.count == 0) return this;
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            return this;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Sample standard deviation (n - 1 in the denominator, same as StdStats.stddev).
+     */
+    public double stddev() {
+        return count < 2 ? Double.NaN : Math.sqrt(m2 / (count - 1));
+    }
+}
@@ -0,0 +1,86 @@
+package algorithms.dynamic.percolations;
+
+/**
+ * Union-find that knows, per component, whether it touches the top and the bottom boundary.
+ * <p>
+ * Why not virtual top/bottom nodes?
+ * Percolation needs two WeightedQuickUnionUF instances because connecting every bottom site to
+ * one virtual bottom node makes bottom sites look full through it (backwash).
+ * Here the root of every component carries two flags instead: TOP and BOTTOM.
+ * A union ORs the flags into the new root, so:
+ * - a site is full          ⇔ the root of its component has TOP
+ * - the system percolates   ⇔ some root has TOP and BOTTOM
+ * Nothing is shared between unrelated components, so there is no backwash and one structure is enough.
+ * <p>
+ * Memory: int parent + one byte per element (rank in the low 5 bits, flags in the high bits),
+ * 5 bytes instead of the 16 of two weighted union-finds (parent[] + size[] each).
+ * Union by rank, find with path halving.
+ */
+public class SpanningUnionFind {
+
+    public static final byte TOP = 1 << 5;
+    public static final byte BOTTOM = 1 << 6;
+    private static final int RANK_MASK = 0x1F; // rank <= log2(n) < 32
+
+    private final int[] parent;
+    private final byte[] state;
+    private boolean spanning;
+
+    public SpanningUnionFind(int n) {
+        parent = new int[n];
+        state = new byte[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+    }
+
+    public int find(int p) {
+        while (p != parent[p]) {
+            // point to grandparent
+            parent[p] = parent[parent[p]];
+            p = parent[p];
+        }
+        return p;
+    }
+
+    public void union(int p, int q) {
+        int i = find(p);
+        int j = find(q);
+        if (i == j) return;
+
+        int rankI = state[i] & RANK_MASK;
+        int rankJ = state[j] & RANK_MASK;
+        int flags = (state[i] | state[j]) & (TOP | BOTTOM);
+        int root;
+        if (rankI < rankJ) {
+            parent[i] = j;
+            root = j;
+        } else {
+            parent[j] = i;
+            root = i;
+            if (rankI == rankJ) rankI++;
+        }
+        state[root] = (byte) (flags | (root == i ? rankI : rankJ));
+        if (flags == (TOP | BOTTOM)) spanning = true;
+    }
+
+    /**
+     * Mark the component of p as touching a boundary ({@link #TOP} and/or {@link #BOTTOM}).
+     */
+    public void mark(int p, byte flags) {
+        int root = find(p);
+        state[root] |= flags;
+        if ((state[root] & (TOP | BOTTOM)) == (TOP | BOTTOM)) spanning = true;
+    }
+
+    public boolean touches(int p, byte flag) {
+        return (state[find(p)] & flag) != 0;
+    }
+
+    /**
+     * @return true once some component touches both the top and the bottom
+     */
+    public boolean spans() {
+        return spanning;
+    }
+}
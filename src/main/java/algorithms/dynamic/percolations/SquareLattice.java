@@ -0,0 +1,54 @@
+package algorithms.dynamic.percolations;
+
+/**
+ * n x n square lattice, 4 neighbours (up, down, left, right). Site index = row * n + col.
+ * The same grid as {@link Percolation}; site threshold ≈ 0.5927, bond threshold = 0.5.
+ */
+public final class SquareLattice implements Lattice {
+
+    private final int n;
+
+    public SquareLattice(int n) {
+        if (n <= 0 || (long) n * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size: " + n);
+        }
+        this.n = n;
+    }
+
+    @Override
+    public int sites() {
+        return n * n;
+    }
+
+    @Override
+    public int maxDegree() {
+        return 4;
+    }
+
+    @Override
+    public int neighbours(int site, int[] out) {
+        int row = site / n;
+        int col = site - row * n;
+        int count = 0;
+        if (row > 0) out[count++] = site - n;
+        if (row < n - 1) out[count++] = site + n;
+        if (col > 0) out[count++] = site - 1;
+        if (col < n - 1) out[count++] = site + 1;
+        return count;
+    }
+
+    @Override
+    public boolean isTop(int site) {
+        return site < n;
+    }
+
+    @Override
+    public boolean isBottom(int site) {
+        return site >= n * (n - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "square " + n + "x" + n;
+    }
+}
@@ -0,0 +1,63 @@
+package algorithms.dynamic.percolations;
+
+/**
+ * n x n triangular lattice, 6 neighbours.
+ * <p>
+ * Stored as a square grid with one extra diagonal: (row, col) is also connected to
+ * (row - 1, col + 1) and (row + 1, col - 1), which is a triangular lattice sheared into a rhombus.
+ * Site threshold = 0.5, bond threshold ≈ 0.3473.
+ */
+public final class TriangularLattice implements Lattice {
+
+    private final int n;
+
+    public TriangularLattice(int n) {
+        if (n <= 0 || (long) n * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size: " + n);
+        }
+        this.n = n;
+    }
+
+    @Override
+    public int sites() {
+        return n * n;
+    }
+
+    @Override
+    public int maxDegree() {
+        return 6;
+    }
+
+    @Override
+    public int neighbours(int site, int[] out) {
+        int row = site / n;
+        int col = site - row * n;
+        int count = 0;
+        if (row > 0) {
+            out[count++] = site - n;
+            if (col < n - 1) out[count++] = site - n + 1;
+        }
+        if (row < n - 1) {
+            out[count++] = site + n;
+            if (col > 0) out[count++] = site + n - 1;
+        }
+        if (col > 0) out[count++] = site - 1;
+        if (col < n - 1) out[count++] = site + 1;
+        return count;
+    }
+
+    @Override
+    public boolean isTop(int site) {
+        return site < n;
+    }
+
+    @Override
+    public boolean isBottom(int site) {
+        return site >= n * (n - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "triangular " + n + "x" + n;
+    }
+}
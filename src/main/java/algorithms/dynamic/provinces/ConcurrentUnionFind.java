@@ -0,0 +1,165 @@
+package algorithms.dynamic.provinces;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free union-find that many threads can share (WeightedQuickUnionUF is single-threaded:
+ * union() updates id[] and weight[] in several non-atomic steps).
+ * <p>
+ * The only shared state is the parent array (AtomicIntegerArray) and the component counter.
+ * <p>
+ * union(p, q): find both roots, then link the root with the smaller index under the larger one
+ * with a single CAS parent[small]: small → large. The CAS fails if another thread linked that
+ * root in the meantime (it is no longer a root), so we just find the roots again and retry.
+ * Linking by index (instead of by weight) means a link is one CAS, and it can never create a
+ * cycle: parent pointers always go to a larger index.
+ * <p>
+ * find(p): path splitting, every node on the path is pointed to its grandparent with a CAS.
+ * A failed CAS is fine (someone else already shortened the path), so finds never block.
+ * <p>
+ * Shuffle the element ids (or use random ids) if the input is adversarial: union by index is
+ * only balanced in expectation.
+ */
+public class ConcurrentUnionFind {
+
+    private final AtomicIntegerArray parent;
+    private final AtomicInteger count;
+
+    public ConcurrentUnionFind(int n) {
+        parent = new AtomicIntegerArray(n);
+        count = new AtomicInteger(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    /**
+     * Find the root of the set containing p, splitting the path on the way up.
+     */
+    public int find(int p) {
+        while (true) {
+            int up = parent.get(p);
+            if (up == p) return p;
+            int grandparent = parent.get(up);
+            if (up != grandparent) {
+                parent.compareAndSet(p, up, grandparent);
+            }
+            p = up;
+        }
+    }
+
+    /**
+     * Connect p and q.
+     *
+     * @return true if this call merged two components, false if they were already connected
+     */
+    public boolean union(int p, int q) {
+        while (true) {
+            int i = find(p);
+            int j = find(q);
+            if (i == j) return false;
+
+            int small = Math.min(i, j);
+            int large = Math.max(i, j);
+            if (parent.compareAndSet(small, small, large)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Linearizable connectivity check: equal roots mean connected; otherwise the answer is only
+     * final if the first root is still a root (no union moved it while we were looking).
+     */
+    public boolean connected(int p, int q) {
+        while (true) {
+            int i = find(p);
+            int j = find(q);
+            if (i == j) return true;
+            if (parent.get(i) == i) return false;
+        }
+    }
+
+    public int getCount() {
+        return count.get();
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    /**
+     * Stress test and benchmark: several threads union random pairs concurrently.
+     * The result must be the same partition a sequential WeightedQuickUnionUF builds from the
+     * same pairs (union order does not change which elements end up connected).
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int pairsPerThread = n / threads;
+
+        int[][] pairs = new int[threads][2 * pairsPerThread];
+        for (int[] chunk : pairs) {
+            for (int i = 0; i < chunk.length; i++) {
+                chunk[i] = ThreadLocalRandom.current().nextInt(n);
+            }
+        }
+
+        for (int round = 0; round < 3; round++) {
+            // lock-free
+            ConcurrentUnionFind concurrent = new ConcurrentUnionFind(n);
+            long lockFree = runThreads(pairs, (p, q) -> concurrent.union(p, q));
+
+            // one shared WeightedQuickUnionUF behind a global lock
+            WeightedQuickUnionUF locked = new WeightedQuickUnionUF(n);
+            long globalLock = runThreads(pairs, (p, q) -> {
+                synchronized (locked) {
+                    locked.union(p, q);
+                }
+            });
+
+            boolean samePartition = concurrent.getCount() == locked.getCount();
+            for (int[] chunk : pairs) {
+                for (int i = 0; i < chunk.length && samePartition; i += 2) {
+                    samePartition = concurrent.connected(chunk[i], chunk[i + 1]);
+                }
+            }
+            // every concurrent component must also be one component sequentially
+            int[] rootMap = new int[n];
+            Arrays.fill(rootMap, -1);
+            for (int v = 0; v < n && samePartition; v++) {
+                int root = concurrent.find(v);
+                int expected = locked.find(v);
+                if (rootMap[root] == -1) rootMap[root] = expected;
+                samePartition = rootMap[root] == expected;
+            }
+
+            System.out.printf("%d threads: lock-free %.1f ms, global lock %.1f ms, same partition: %b%n",
+                    threads, lockFree / 1e6, globalLock / 1e6, samePartition);
+        }
+    }
+
+    private interface PairConsumer {
+        void accept(int p, int q);
+    }
+
+    private static long runThreads(int[][] pairs, PairConsumer union) throws InterruptedException {
+        Thread[] workers = new Thread[pairs.length];
+        for (int t = 0; t < workers.length; t++) {
+            int[] chunk = pairs[t];
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < chunk.length; i += 2) {
+                    union.accept(chunk[i], chunk[i + 1]);
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,161 @@
+package algorithms.dynamic.provinces;
+
+import java.util.Arrays;
+
+/**
+ * Union-find without a fixed size: WeightedQuickUnionUF(n) must know the largest id up front
+ * and allocates two int[n] arrays at once.
+ * <p>
+ * Here id[] and weight[] are split into pages of 2^16 elements. A page is allocated the first
+ * time one of its ids is used, and the page directory doubles when an id falls beyond it.
+ * Growing never copies element data (only the small directory of page references).
+ * <p>
+ * An element exists from the first time it is added or used in union() (weight 0 = not added yet).
+ * find() and connected() are read-only queries and never add elements.
+ * getCount() counts components among the existing elements.
+ * <p>
+ * Same algorithm as WeightedQuickUnionUF: union by size, find with path halving.
+ */
+public class GrowableUnionFind {
+
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private int[][] idPages;
+    private int[][] weightPages;
+    private int count;
+    private int size;
+
+    public GrowableUnionFind() {
+        idPages = new int[1][];
+        weightPages = new int[1][];
+    }
+
+    /**
+     * Adds p as a new single-element component (no-op if it already exists).
+     */
+    public void add(int p) {
+        if (p < 0) {
+            throw new IllegalArgumentException("Element id cannot be negative: " + p);
+        }
+        int page = p >>> PAGE_BITS;
+        if (page >= idPages.length) {
+            int pages = Math.max(idPages.length * 2, page + 1);
+            idPages = Arrays.copyOf(idPages, pages);
+            weightPages = Arrays.copyOf(weightPages, pages);
+        }
+        if (idPages[page] == null) {
+            int[] ids = new int[PAGE_SIZE];
+            int base = page << PAGE_BITS;
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                ids[i] = base + i;
+            }
+            idPages[page] = ids;
+            weightPages[page] = new int[PAGE_SIZE];
+        }
+        int[] weights = weightPages[page];
+        if (weights[p & PAGE_MASK] == 0) {
+            weights[p & PAGE_MASK] = 1;
+            count++;
+            size++;
+        }
+    }
+
+    public boolean contains(int p) {
+        int page = p >>> PAGE_BITS;
+        return p >= 0 && page < weightPages.length && weightPages[page] != null
+                && weightPages[page][p & PAGE_MASK] != 0;
+    }
+
+    /**
+     * Merges the components of p and q, adding either of them first if it is new.
+     */
+    public void union(int p, int q) {
+        add(p);
+        add(q);
+        int i = root(p);
+        int j = root(q);
+
+        if (i == j) return;
+
+        int weightI = weightOf(i);
+        int weightJ = weightOf(j);
+        if (weightI < weightJ) {
+            setId(i, j);
+            setWeight(j, weightI + weightJ);
+        } else {
+            setId(j, i);
+            setWeight(i, weightI + weightJ);
+        }
+        count--;
+    }
+
+    /**
+     * Find the root of p, with path halving.
+     *
+     * @throws IllegalArgumentException if p was never added
+     */
+    public int find(int p) {
+        if (!contains(p)) {
+            throw new IllegalArgumentException("Element has not been added: " + p);
+        }
+        return root(p);
+    }
+
+    /**
+     * @return true if p and q are in the same component, false if either was never added
+     */
+    public boolean connected(int p, int q) {
+        return contains(p) && contains(q) && root(p) == root(q);
+    }
+
+    private int root(int p) {
+        int parent = idOf(p);
+        while (p != parent) {
+            // point to grandparent
+            int grandparent = idOf(parent);
+            setId(p, grandparent);
+            p = grandparent;
+            parent = idOf(p);
+        }
+        return p;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return number of elements added so far
+     */
+    public int size() {
+        return size;
+    }
+
+    private int idOf(int p) {
+        return idPages[p >>> PAGE_BITS][p & PAGE_MASK];
+    }
+
+    private void setId(int p, int parent) {
+        idPages[p >>> PAGE_BITS][p & PAGE_MASK] = parent;
+    }
+
+    private int weightOf(int p) {
+        return weightPages[p >>> PAGE_BITS][p & PAGE_MASK];
+    }
+
+    private void setWeight(int p, int weight) {
+        weightPages[p >>> PAGE_BITS][p & PAGE_MASK] = weight;
+    }
+
+    public static void main(String[] args) {
+        GrowableUnionFind uf = new GrowableUnionFind();
+        uf.union(1, 2);
+        uf.union(5_000_000, 2);  // allocates only the page of 5_000_000
+        uf.union(7, 8);
+        System.out.println("Components: " + uf.getCount()); // 2
+        System.out.println("1 and 5_000_000 connected: " + uf.connected(1, 5_000_000)); // true
+        System.out.println("1 and 7 connected: " + uf.connected(1, 7)); // false
+    }
+}
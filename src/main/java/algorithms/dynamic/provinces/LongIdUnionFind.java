@@ -0,0 +1,169 @@
+package algorithms.dynamic.provinces;
+
+import java.util.Arrays;
+
+/**
+ * Union-find over sparse 64-bit ids (e.g. user ids, hashes).
+ * <p>
+ * Every new id gets the next dense slot 0, 1, 2, ... and the slots are stored in a
+ * {@link GrowableUnionFind}. The id → slot lookup is a primitive open-addressing hash map
+ * (long[] keys, int[] values, linear probing), so there is no Long boxing and no
+ * HashMap.Entry object per element.
+ * <p>
+ * Only union() registers new ids; find(), connected() and contains() are lookups.
+ */
+public class LongIdUnionFind {
+
+    private static final double MAX_LOAD = 0.5;
+    private static final int MAX_CAPACITY = 1 << 30; // largest power of two array length
+
+    private final GrowableUnionFind uf = new GrowableUnionFind();
+
+    // open-addressing map: id → slot + 1 (0 marks an empty bucket)
+    private long[] keys;
+    private int[] values;
+    private int mask;
+
+    // slot → id, to translate roots back
+    private long[] ids;
+    private int slots;
+
+    public LongIdUnionFind() {
+        this(16);
+    }
+
+    public LongIdUnionFind(int expectedIds) {
+        if (expectedIds < 0) {
+            throw new IllegalArgumentException("expectedIds must not be negative");
+        }
+        long wanted = Math.max(16, (long) (expectedIds / MAX_LOAD));
+        int capacity = (int) Math.min(MAX_CAPACITY, Long.highestOneBit(wanted - 1) << 1);
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        ids = new long[Math.max(16, expectedIds)];
+    }
+
+    public void union(long p, long q) {
+        uf.union(slotOf(p), slotOf(q));
+    }
+
+    /**
+     * @return the id that represents the component of p
+     * @throws IllegalArgumentException if p was never used in union()
+     */
+    public long find(long p) {
+        int bucket = bucketOf(p);
+        if (values[bucket] == 0) {
+            throw new IllegalArgumentException("Unknown id: " + p);
+        }
+        return ids[uf.find(values[bucket] - 1)];
+    }
+
+    /**
+     * @return true if p and q are in the same component, false if either is unknown
+     */
+    public boolean connected(long p, long q) {
+        int bucketP = bucketOf(p);
+        int bucketQ = bucketOf(q);
+        return values[bucketP] != 0 && values[bucketQ] != 0
+                && uf.connected(values[bucketP] - 1, values[bucketQ] - 1);
+    }
+
+    public boolean contains(long p) {
+        return values[bucketOf(p)] != 0;
+    }
+
+    public int getCount() {
+        return uf.getCount();
+    }
+
+    /**
+     * @return number of distinct ids seen
+     */
+    public int size() {
+        return slots;
+    }
+
+    /**
+     * Slot of id, registering it as a new single-element component if it is new.
+     */
+    private int slotOf(long id) {
+        int bucket = bucketOf(id);
+        if (values[bucket] != 0) {
+            return values[bucket] - 1;
+        }
+
+        if (slots == keys.length - 1) {
+            // at MAX_CAPACITY the table no longer grows; keep one empty bucket so probing ends
+            throw new IllegalStateException("LongIdUnionFind is full: " + slots + " ids");
+        }
+        int slot = slots++;
+        if (slot == ids.length) {
+            ids = Arrays.copyOf(ids, slot * 2);
+        }
+        ids[slot] = id;
+        uf.add(slot);
+
+        keys[bucket] = id;
+        values[bucket] = slot + 1;
+        if (slots > keys.length * MAX_LOAD && keys.length < MAX_CAPACITY) {
+            rehash(keys.length * 2);
+        }
+        return slot;
+    }
+
+    /**
+     * Linear probing: the bucket holding id, or the empty bucket where it would go.
+     */
+    private int bucketOf(long id) {
+        int bucket = hash(id) & mask;
+        while (values[bucket] != 0 && keys[bucket] != id) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int bucket = bucketOf(oldKeys[i]);
+                keys[bucket] = oldKeys[i];
+                values[bucket] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * MurmurHash3 finalizer: spreads sequential or clustered ids over all buckets.
+     */
+    private static int hash(long id) {
+        id ^= id >>> 33;
+        id *= 0xff51afd7ed558ccdL;
+        id ^= id >>> 33;
+        id *= 0xc4ceb9fe1a85ec53L;
+        id ^= id >>> 33;
+        return (int) id;
+    }
+
+    public static void main(String[] args) {
+        LongIdUnionFind uf = new LongIdUnionFind();
+        long alice = 9_000_000_000_001L;
+        long bob = -42L;
+        long carol = 1L << 62;
+        long dave = 7L;
+
+        uf.union(alice, bob);
+        uf.union(bob, carol);
+        uf.union(dave, dave);
+
+        System.out.println("Ids: " + uf.size() + ", components: " + uf.getCount()); // 4, 2
+        System.out.println("alice ~ carol: " + uf.connected(alice, carol)); // true
+        System.out.println("alice ~ dave: " + uf.connected(alice, dave)); // false
+    }
+}
@@ -0,0 +1,156 @@
+package algorithms.dynamic.provinces;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Binary checkpoint of a {@link WeightedQuickUnionUF}, so a restart does not replay the whole
+ * edge history: restore the snapshot, then replay only the log after {@link #getLogOffset()}.
+ * <p>
+ * File layout (little-endian):
+ * header: magic "UFS1" | version | n | count | logOffset (long) | CRC32 of the data (long)
+ * data:   id[0..n) | weight[0..n)
+ * <p>
+ * The arrays are copied in bulk through memory-mapped windows (IntBuffer views), no per-element I/O.
+ * A snapshot is written to a temporary file and atomically moved into place, so a crash while
+ * writing leaves the previous snapshot intact.
+ */
+public class UnionFindSnapshot {
+
+    private static final int MAGIC = 0x55465331; // "UFS1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final long WINDOW_BYTES = 1L << 30; // one mapping per GB
+
+    private final WeightedQuickUnionUF unionFind;
+    private final long logOffset;
+
+    private UnionFindSnapshot(WeightedQuickUnionUF unionFind, long logOffset) {
+        this.unionFind = unionFind;
+        this.logOffset = logOffset;
+    }
+
+    public WeightedQuickUnionUF getUnionFind() {
+        return unionFind;
+    }
+
+    /**
+     * @return log position the snapshot reflects: every edge before it is already applied
+     */
+    public long getLogOffset() {
+        return logOffset;
+    }
+
+    /**
+     * Write a snapshot of uf, taken after all log entries before logOffset were applied.
+     */
+    public static void write(WeightedQuickUnionUF uf, long logOffset, Path file) throws IOException {
+        int[] id = uf.getIds();
+        int[] weight = uf.getWeights();
+        int n = id.length;
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            CRC32 crc = new CRC32();
+            long position = HEADER_BYTES;
+            position = transfer(channel, FileChannel.MapMode.READ_WRITE, position, id, crc);
+            transfer(channel, FileChannel.MapMode.READ_WRITE, position, weight, crc);
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(uf.getCount())
+                    .putLong(logOffset).putLong(crc.getValue());
+            header.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read a snapshot written by {@link #write}.
+     *
+     * @throws IOException if the file is not a snapshot or is corrupted
+     */
+    public static UnionFindSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a union-find snapshot: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a union-find snapshot: " + file);
+            }
+            int n = header.getInt();
+            int count = header.getInt();
+            long logOffset = header.getLong();
+            long checksum = header.getLong();
+            if (n < 0 || channel.size() != HEADER_BYTES + 8L * n) {
+                throw new IOException("Truncated union-find snapshot: " + file);
+            }
+
+            int[] id = new int[n];
+            int[] weight = new int[n];
+            CRC32 crc = new CRC32();
+            long position = transfer(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES, id, crc);
+            transfer(channel, FileChannel.MapMode.READ_ONLY, position, weight, crc);
+            if (crc.getValue() != checksum) {
+                throw new IOException("Corrupted union-find snapshot (checksum mismatch): " + file);
+            }
+            return new UnionFindSnapshot(new WeightedQuickUnionUF(id, weight, count), logOffset);
+        }
+    }
+
+    /**
+     * Copies the array to (READ_WRITE) or from (READ_ONLY) the file, one mapped window at a time,
+     * feeding the bytes to the checksum.
+     *
+     * @return file position right after the array
+     */
+    private static long transfer(FileChannel channel, FileChannel.MapMode mode, long position,
+                                 int[] array, CRC32 crc) throws IOException {
+        int intsPerWindow = (int) (WINDOW_BYTES / Integer.BYTES);
+        for (int from = 0; from < array.length; from += intsPerWindow) {
+            int length = Math.min(intsPerWindow, array.length - from);
+            MappedByteBuffer window = channel.map(mode, position, (long) length * Integer.BYTES);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            IntBuffer ints = window.asIntBuffer();
+            if (mode == FileChannel.MapMode.READ_WRITE) {
+                ints.put(array, from, length);
+                window.force();
+            } else {
+                ints.get(array, from, length);
+            }
+            crc.update(window.rewind());
+            position += (long) length * Integer.BYTES;
+        }
+        return position;
+    }
+
+    public static void main(String[] args) throws IOException {
+        WeightedQuickUnionUF uf = new WeightedQuickUnionUF(10);
+        uf.union(0, 1);
+        uf.union(2, 3);
+        uf.union(1, 3);
+
+        Path file = Files.createTempFile("union-find", ".snapshot");
+        try {
+            write(uf, 1234, file);
+            UnionFindSnapshot snapshot = read(file);
+            WeightedQuickUnionUF restored = snapshot.getUnionFind();
+            System.out.println("Log offset: " + snapshot.getLogOffset()); // 1234
+            System.out.println("Components: " + restored.getCount()); // 7
+            System.out.println("0 and 2 connected: " + (restored.find(0) == restored.find(2))); // true
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package algorithms.dynamic.provinces;
 
+import java.util.stream.IntStream;
+
 public class WeightedQuickUnionUF {
 
+    // below this batch size the parallel pre-filter costs more than it saves
+    private static final int PARALLEL_BATCH_THRESHOLD = 1 << 14;
+
     // int array to keep track of the parent node of each node
     // helps identify connected components
     private final int[] id;
@@ -26,6 +31,18 @@ public class WeightedQuickUnionUF {
         }
     }
 
+    /**
+     * Restore a structure from its arrays (see {@link UnionFindSnapshot}).
+     */
+    WeightedQuickUnionUF(int[] id, int[] weight, int count) {
+        if (id.length != weight.length || count < 0 || count > id.length) {
+            throw new IllegalArgumentException("Inconsistent union-find state");
+        }
+        this.id = id;
+        this.weight = weight;
+        this.count = count;
+    }
+
     /**
      * Connect two nodes p and q keeping track of the size of each component(tree)
      * <p>
@@ -55,6 +72,60 @@ public class WeightedQuickUnionUF {
 
     }
 
+    /**
+     * Union a batch of pairs and report when the number of components reaches targetCount.
+     * <p>
+     * Pairs that are already connected before the batch are no-ops, and in long logs they are
+     * the vast majority. They are dropped first, in parallel, using a read-only root lookup
+     * (find() writes to id[] and must not run concurrently). The remaining pairs are then
+     * committed sequentially, in order, so the reported index is exact.
+     *
+     * @param pairs       flattened pairs: p0, q0, p1, q1, ...
+     * @param pairCount   number of pairs to process from the start of the array
+     * @param targetCount component count to watch for (e.g. 1 = everyone connected)
+     * @return index of the pair whose union brought the count down to targetCount,
+     * or -1 if that did not happen in this batch
+     */
+    public int unionBatch(int[] pairs, int pairCount, int targetCount) {
+        if (pairCount < 0 || 2 * pairCount > pairs.length) {
+            throw new IllegalArgumentException("pairCount out of range: " + pairCount);
+        }
+
+        // small batches skip the pre-filter entirely, so they allocate nothing
+        boolean[] redundant = pairCount >= PARALLEL_BATCH_THRESHOLD ? redundantPairs(pairs, pairCount) : null;
+
+        int reachedAt = -1;
+        for (int i = 0; i < pairCount; i++) {
+            if (redundant != null && redundant[i]) continue;
+            int before = count;
+            union(pairs[2 * i], pairs[2 * i + 1]);
+            if (reachedAt == -1 && count != before && count == targetCount) {
+                reachedAt = i;
+            }
+        }
+        return reachedAt;
+    }
+
+    /**
+     * Parallel pre-filter: marks the pairs that are already connected before the batch starts.
+     */
+    private boolean[] redundantPairs(int[] pairs, int pairCount) {
+        boolean[] redundant = new boolean[pairCount];
+        IntStream.range(0, pairCount).parallel()
+                .forEach(i -> redundant[i] = root(pairs[2 * i]) == root(pairs[2 * i + 1]));
+        return redundant;
+    }
+
+    /**
+     * Root of p without path compression: safe to call from many threads while no union runs.
+     */
+    private int root(int p) {
+        while (p != id[p]) {
+            p = id[p];
+        }
+        return p;
+    }
+
     /**
      * Find the corresponding root of the set containing p, traversing the id[] array structure.
      * <p>
@@ -94,4 +165,19 @@ public class WeightedQuickUnionUF {
     public int getCount() {
         return count;
     }
+
+    /**
+     * @return number of nodes
+     */
+    public int size() {
+        return id.length;
+    }
+
+    int[] getIds() {
+        return id;
+    }
+
+    int[] getWeights() {
+        return weight;
+    }
 }
\ No newline at end of file
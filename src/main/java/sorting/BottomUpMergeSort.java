@@ -0,0 +1,68 @@
+package sorting;
+
+/**
+ * The bottom-up merge sort shared by {@link MergeSort#mergeSortBottomUp(int[])} and the
+ * {@link KeyedMergeSort} sorts, generic over the array type.
+ * <p>
+ * - Runs of INSERTION_SORT_RUN elements are insertion sorted in place first.
+ * - Every pass merges pairs of neighbouring runs of the source into the destination, then the
+ *   two swap roles (array -> temp, temp -> array, ...). At most one final copy is needed when
+ *   the last pass ended in the temp array.
+ * <p>
+ * Subclasses only write the per-type steps, with the comparison on primitives:
+ * insertionSort() once per run and merge() once per pair of runs, so the virtual calls are
+ * not in the per-element loops.
+ *
+ * @param <A> the array type (int[], long[], double[], or int[] of indices into a key array)
+ */
+abstract class BottomUpMergeSort<A> {
+
+    // runs of this size are insertion sorted before the bottom-up merge passes
+    static final int INSERTION_SORT_RUN = 16;
+
+    /**
+     * Insertion sort of the range array[from, to).
+     */
+    abstract void insertionSort(A array, int from, int to);
+
+    /**
+     * Merges the sorted ranges src[lo, mid) and src[mid, hi), both non-empty, into dst[lo, hi).
+     */
+    abstract void merge(A src, A dst, int lo, int mid, int hi);
+
+    /**
+     * @return a second buffer of at least length elements (only asked for when merges are needed)
+     */
+    abstract A temp(int length);
+
+    /**
+     * Sorts array[0, n); the result always ends up in array, so temp can be shared between calls.
+     */
+    final void sort(A array, int n) {
+        for (int lo = 0; lo < n; lo += INSERTION_SORT_RUN) {
+            insertionSort(array, lo, Math.min(lo + INSERTION_SORT_RUN, n));
+        }
+        if (n <= INSERTION_SORT_RUN) return;
+
+        A src = array;
+        A dst = temp(n);
+        for (int width = INSERTION_SORT_RUN; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                if (mid >= hi) {
+                    // single run
+                    System.arraycopy(src, lo, dst, lo, hi - lo);
+                } else {
+                    merge(src, dst, lo, mid, hi);
+                }
+            }
+            A swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != array) {
+            System.arraycopy(src, 0, array, 0, n);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package sorting;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sorts a file of fixed-width records that does not fit in memory.
+ * <p>
+ * The sort key is the big-endian (signed) int in the first 4 bytes of a record; the rest of the
+ * record is payload. Records with equal keys keep their input order.
+ * <p>
+ * 1. Run generation: the input is read chunk by chunk (chunkRecords records). For every record
+ *    the key and the record index are packed into one long, key << 32 | index, and the longs are
+ *    sorted with {@link ParallelMergeSort}: a primitive sort of 8 bytes per record instead of
+ *    moving whole records around. The records are then gathered in key order into an output
+ *    buffer and spilled to a run file by a writer thread, while the next chunk is read and sorted.
+ * 2. Merge: up to fanIn runs are merged at once with a {@link LoserTree}, each run read through
+ *    its own large direct buffer, so the disk sees long sequential reads and writes. With more
+ *    runs than fanIn, intermediate passes merge groups of fanIn runs into longer runs first.
+ * <p>
+ * Temporary run files are created in tempDir and deleted when they are merged.
+ */
+public class ExternalMergeSort {
+
+    public static final int KEY_BYTES = Integer.BYTES;
+    private static final int DEFAULT_CHUNK_BYTES = 256 << 20;
+    private static final int DEFAULT_FAN_IN = 64;
+    private static final int DEFAULT_BUFFER_BYTES = 4 << 20;
+
+    private final int recordSize;
+    private final int chunkRecords;
+    private final int fanIn;
+    private final int bufferBytes;
+    private final Path tempDir;
+    private final ParallelMergeSort sorter = new ParallelMergeSort();
+
+    public ExternalMergeSort(int recordSize, Path tempDir) {
+        this(recordSize, Math.max(1, DEFAULT_CHUNK_BYTES / recordSize), DEFAULT_FAN_IN, DEFAULT_BUFFER_BYTES, tempDir);
+    }
+
+    /**
+     * @param recordSize   bytes per record, at least {@link #KEY_BYTES}
+     * @param chunkRecords records sorted in memory per run (the chunk buffer is chunkRecords * recordSize bytes)
+     * @param fanIn        maximum number of runs merged at once
+     * @param bufferBytes  read buffer per run and write buffer of a merge
+     * @param tempDir      directory for the run files
+     */
+    public ExternalMergeSort(int recordSize, int chunkRecords, int fanIn, int bufferBytes, Path tempDir) {
+        if (recordSize < KEY_BYTES) {
+            throw new IllegalArgumentException("recordSize must be at least " + KEY_BYTES);
+        }
+        if (chunkRecords <= 0 || (long) chunkRecords * recordSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid chunkRecords: " + chunkRecords);
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fanIn must be at least 2");
+        }
+        if (bufferBytes < recordSize) {
+            throw new IllegalArgumentException("bufferBytes must hold at least one record");
+        }
+        this.recordSize = recordSize;
+        this.chunkRecords = chunkRecords;
+        this.fanIn = fanIn;
+        this.bufferBytes = bufferBytes - bufferBytes % recordSize;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Sorts the records of input into output (output is created or overwritten).
+     *
+     * @throws IllegalArgumentException if the input size is not a multiple of the record size
+     */
+    public void sort(Path input, Path output) throws IOException {
+        long size = Files.size(input);
+        if (size % recordSize != 0) {
+            throw new IllegalArgumentException("Input size " + size + " is not a multiple of the record size " + recordSize);
+        }
+
+        List<Path> runs = createRuns(input);
+        List<Path> merged = new ArrayList<>(); // runs of the current pass, deleted too if it fails
+        try {
+            while (runs.size() > fanIn) {
+                merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path run = Files.createTempFile(tempDir, "run", ".bin");
+                    merged.add(run);
+                    merge(group, run);
+                    for (Path done : group) {
+                        Files.deleteIfExists(done);
+                    }
+                }
+                runs = merged;
+            }
+            merge(runs, output);
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            for (Path run : merged) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Phase 1: sorted runs of chunkRecords records each.
+     */
+    private List<Path> createRuns(Path input) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        ByteBuffer chunk = ByteBuffer.allocateDirect(chunkRecords * recordSize);
+        // two gather buffers: one is written by the spill thread while the other is filled
+        ByteBuffer[] sorted = {
+                ByteBuffer.allocateDirect(chunkRecords * recordSize),
+                ByteBuffer.allocateDirect(chunkRecords * recordSize)
+        };
+        Future<?>[] spills = new Future<?>[2];
+        long[] keys = new long[chunkRecords];
+
+        ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "external-sort-spill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            for (int turn = 0; ; turn ^= 1) {
+                chunk.clear();
+                readFully(in, chunk);
+                int records = chunk.position() / recordSize;
+                if (records == 0) break;
+
+                for (int i = 0; i < records; i++) {
+                    keys[i] = (long) chunk.getInt(i * recordSize) << 32 | i;
+                }
+                sorter.sort(keys, 0, records);
+
+                await(spills[turn]); // the buffer of this turn is free again
+                ByteBuffer out = sorted[turn];
+                out.clear();
+                for (int i = 0; i < records; i++) {
+                    int index = (int) keys[i];
+                    out.put(i * recordSize, chunk, index * recordSize, recordSize);
+                }
+                out.limit(records * recordSize);
+
+                Path run = Files.createTempFile(tempDir, "run", ".bin");
+                runs.add(run);
+                spills[turn] = writer.submit(() -> {
+                    try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                        writeFully(channel, out);
+                    }
+                    return null;
+                });
+            }
+            await(spills[0]);
+            await(spills[1]);
+        } catch (IOException | RuntimeException e) {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            throw e;
+        } finally {
+            writer.shutdownNow();
+        }
+        return runs;
+    }
+
+    /**
+     * Phase 2: k-way merge of sorted runs into target.
+     */
+    private void merge(List<Path> runs, Path target) throws IOException {
+        RunReader[] readers = new RunReader[runs.size()];
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = new RunReader(FileChannel.open(runs.get(i), StandardOpenOption.READ));
+            }
+            if (readers.length == 0) return; // empty input, empty output
+
+            LoserTree tree = new LoserTree(readers.length) {
+                @Override
+                protected boolean before(int i, int j) {
+                    if (readers[i].exhausted) return false;
+                    if (readers[j].exhausted) return true;
+                    return readers[i].key < readers[j].key;
+                }
+            };
+            tree.initialize();
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bufferBytes);
+            while (true) {
+                RunReader reader = readers[tree.winner()];
+                if (reader.exhausted) break;
+                if (buffer.remaining() < recordSize) {
+                    buffer.flip();
+                    writeFully(out, buffer);
+                    buffer.clear();
+                }
+                buffer.put(buffer.position(), reader.buffer, reader.buffer.position(), recordSize);
+                buffer.position(buffer.position() + recordSize);
+                reader.advance();
+                tree.replay();
+            }
+            buffer.flip();
+            writeFully(out, buffer);
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.channel.close();
+            }
+        }
+    }
+
+    /**
+     * Sequential reader of a run; buffer.position() is the current record, key its sort key.
+     */
+    private final class RunReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(bufferBytes);
+        private int key;
+        private boolean exhausted;
+
+        RunReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            buffer.limit(0);
+            load();
+        }
+
+        void advance() throws IOException {
+            buffer.position(buffer.position() + recordSize);
+            load();
+        }
+
+        private void load() throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                readFully(channel, buffer);
+                buffer.flip();
+            }
+            if (buffer.hasRemaining()) {
+                key = buffer.getInt(buffer.position());
+            } else {
+                exhausted = true;
+            }
+        }
+    }
+
+    // fills the buffer unless the channel ends first
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void await(Future<?> spill) throws IOException {
+        if (spill == null) return;
+        try {
+            spill.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing a run", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Writing a run failed", e.getCause());
+        }
+    }
+
+    // test client: [records] [recordSize] [chunkRecords] [fanIn]
+    public static void main(String[] args) throws IOException {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int recordSize = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int chunkRecords = args.length > 2 ? Integer.parseInt(args[2]) : 500_000;
+        int fanIn = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+
+        Path dir = Files.createTempDirectory("external-sort");
+        Path input = dir.resolve("input.bin");
+        Path output = dir.resolve("output.bin");
+        try {
+            // random keys, payload = the record's input position (to check stability)
+            SplittableRandom random = new SplittableRandom(42);
+            try (FileChannel channel = FileChannel.open(input, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(recordSize * 10_000);
+                for (int i = 0; i < records; i++) {
+                    if (buffer.remaining() < recordSize) {
+                        buffer.flip();
+                        writeFully(channel, buffer);
+                        buffer.clear();
+                    }
+                    int start = buffer.position();
+                    buffer.putInt(random.nextInt(1_000_000) - 500_000);
+                    if (recordSize >= 8) buffer.putInt(i);
+                    buffer.position(start + recordSize);
+                }
+                buffer.flip();
+                writeFully(channel, buffer);
+            }
+
+            long start = System.nanoTime();
+            new ExternalMergeSort(recordSize, chunkRecords, fanIn, DEFAULT_BUFFER_BYTES, dir).sort(input, output);
+            long elapsed = System.nanoTime() - start;
+
+            boolean sorted = true;
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                for (int i = 1; i < records && sorted; i++) {
+                    int previous = buffer.getInt((i - 1) * recordSize);
+                    int current = buffer.getInt(i * recordSize);
+                    sorted = previous < current || previous == current
+                            && (recordSize < 8 || buffer.getInt((i - 1) * recordSize + 4) < buffer.getInt(i * recordSize + 4));
+                }
+                sorted &= channel.size() == (long) records * recordSize;
+            }
+            double megabytes = (double) records * recordSize / (1 << 20);
+            System.out.printf("%d records (%.0f MB) in %.0f ms, %.0f MB/s, sorted and stable: %b%n",
+                    records, megabytes, elapsed / 1e6, megabytes / (elapsed / 1e9), sorted);
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package sorting;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Merges k sorted int[] / long[] sources into one sorted array.
+ * <p>
+ * MergeSort.merge(left, right, array) merges two inputs; merging 64 shards pairwise that way
+ * touches every element log2(64) = 6 times. Here every element is copied once: a tournament
+ * tree of losers (see {@link LoserTree}) over the heads of the sources picks the next element
+ * with log2(k) comparisons, and only the path of the source that just advanced is replayed.
+ * <p>
+ * Unlike the generic LoserTree, every node also stores the key of its loser, so a match compares
+ * two primitives already at hand instead of looking up the heads of two sources: this halves the
+ * time of a 64-way merge. An exhausted source gets a key after all real keys (for int sources
+ * Long.MAX_VALUE, a long key no int reaches; for long sources an explicit flag settles the
+ * tie with a real Long.MAX_VALUE).
+ * The merge is stable: on equal values the source with the lower index comes first.
+ */
+public class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    public static int[] merge(int[]... sources) {
+        long total = 0;
+        for (int[] source : sources) {
+            total += source.length;
+        }
+        int[] result = new int[checkedLength(total)];
+        int k = sources.length;
+        if (k == 0) return result;
+        if (k == 2) {
+            mergeTwo(sources[0], sources[1], result);
+            return result;
+        }
+
+        int[] position = new int[k];
+        long[] head = new long[k];
+        for (int i = 0; i < k; i++) {
+            head[i] = sources[i].length == 0 ? Long.MAX_VALUE : sources[i][0];
+        }
+        int[] tree = new int[k];       // tree[0] = winner, tree[1..k) = loser of the node
+        long[] treeKey = new long[k];  // key of tree[node]
+        initialize(tree, treeKey, head);
+
+        for (int out = 0; out < result.length; out++) {
+            int winner = tree[0];
+            result[out] = (int) head[winner];
+            long key = ++position[winner] < sources[winner].length ? sources[winner][position[winner]] : Long.MAX_VALUE;
+            head[winner] = key;
+            for (int node = (winner + k) >>> 1; node > 0; node >>>= 1) {
+                long other = treeKey[node];
+                if (other < key || other == key && tree[node] < winner) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                    treeKey[node] = key;
+                    key = other;
+                }
+            }
+            tree[0] = winner;
+        }
+        return result;
+    }
+
+    public static long[] merge(long[]... sources) {
+        long total = 0;
+        for (long[] source : sources) {
+            total += source.length;
+        }
+        long[] result = new long[checkedLength(total)];
+        int k = sources.length;
+        if (k == 0) return result;
+        if (k == 2) {
+            mergeTwo(sources[0], sources[1], result);
+            return result;
+        }
+
+        int[] position = new int[k];
+        long[] head = new long[k];
+        boolean[] exhausted = new boolean[k];
+        for (int i = 0; i < k; i++) {
+            exhausted[i] = sources[i].length == 0;
+            head[i] = exhausted[i] ? Long.MAX_VALUE : sources[i][0];
+        }
+        int[] tree = new int[k];
+        long[] treeKey = new long[k];
+        initialize(tree, treeKey, head, exhausted);
+
+        for (int out = 0; out < result.length; out++) {
+            int winner = tree[0];
+            result[out] = head[winner];
+            long key;
+            if (++position[winner] < sources[winner].length) {
+                key = sources[winner][position[winner]];
+            } else {
+                exhausted[winner] = true;
+                key = Long.MAX_VALUE;
+            }
+            head[winner] = key;
+            for (int node = (winner + k) >>> 1; node > 0; node >>>= 1) {
+                long other = treeKey[node];
+                if (other < key || other == key && beats(tree[node], winner, exhausted)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                    treeKey[node] = key;
+                    key = other;
+                }
+            }
+            tree[0] = winner;
+        }
+        return result;
+    }
+
+    // int sources: no flag needed, exhausted heads are Long.MAX_VALUE
+    private static void initialize(int[] tree, long[] treeKey, long[] head) {
+        initialize(tree, treeKey, head, new boolean[head.length]);
+    }
+
+    /**
+     * Plays all matches, see LoserTree.initialize: the first arrival at a node waits there,
+     * the second plays it and the winner moves up.
+     */
+    private static void initialize(int[] tree, long[] treeKey, long[] head, boolean[] exhausted) {
+        int k = tree.length;
+        Arrays.fill(tree, -1);
+        for (int source = 0; source < k; source++) {
+            int winner = source;
+            for (int node = (source + k) >>> 1; node > 0; node >>>= 1) {
+                if (tree[node] < 0) {
+                    tree[node] = winner;
+                    treeKey[node] = head[winner];
+                    winner = -1;
+                    break;
+                }
+                int other = tree[node];
+                if (head[other] < head[winner]
+                        || head[other] == head[winner] && beats(other, winner, exhausted)) {
+                    tree[node] = winner;
+                    treeKey[node] = head[winner];
+                    winner = other;
+                }
+            }
+            if (winner >= 0) tree[0] = winner;
+        }
+    }
+
+    // tie on the key: a live source beats an exhausted one, then the lower index wins
+    private static boolean beats(int i, int j, boolean[] exhausted) {
+        if (exhausted[i] != exhausted[j]) return exhausted[j];
+        return i < j;
+    }
+
+    // plain two-way merge, no tree needed
+    private static void mergeTwo(int[] left, int[] right, int[] result) {
+        int i = 0, j = 0, k = 0;
+        while (i < left.length && j < right.length) {
+            result[k++] = left[i] <= right[j] ? left[i++] : right[j++];
+        }
+        System.arraycopy(left, i, result, k, left.length - i);
+        System.arraycopy(right, j, result, k + left.length - i, right.length - j);
+    }
+
+    private static void mergeTwo(long[] left, long[] right, long[] result) {
+        int i = 0, j = 0, k = 0;
+        while (i < left.length && j < right.length) {
+            result[k++] = left[i] <= right[j] ? left[i++] : right[j++];
+        }
+        System.arraycopy(left, i, result, k, left.length - i);
+        System.arraycopy(right, j, result, k + left.length - i, right.length - j);
+    }
+
+    private static int checkedLength(long total) {
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Merged length too large: " + total);
+        }
+        return (int) total;
+    }
+
+    // benchmark: [shards] [shardSize]
+    public static void main(String[] args) {
+        int shards = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int shardSize = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        SplittableRandom random = new SplittableRandom(42);
+        long[][] sources = new long[shards][];
+        for (int s = 0; s < shards; s++) {
+            sources[s] = random.longs(shardSize).toArray();
+            Arrays.sort(sources[s]);
+        }
+
+        long start = System.nanoTime();
+        long[] merged = merge(sources);
+        long kWayTime = System.nanoTime() - start;
+
+        // baseline: two-way merges of pairs of shards, then of pairs of the results, ...
+        start = System.nanoTime();
+        long[][] round = sources;
+        while (round.length > 1) {
+            long[][] next = new long[(round.length + 1) / 2][];
+            for (int i = 0; i < round.length; i += 2) {
+                next[i / 2] = i + 1 < round.length ? merge(round[i], round[i + 1]) : round[i];
+            }
+            round = next;
+        }
+        long pairwiseTime = System.nanoTime() - start;
+
+        System.out.printf("%d shards x %d: k-way merge %.0f ms, pairwise merges %.0f ms, equal: %b%n",
+                shards, shardSize, kWayTime / 1e6, pairwiseTime / 1e6, Arrays.equals(merged, round[0]));
+        System.out.println(Arrays.toString(merge(new int[]{1, 4, 9}, new int[]{}, new int[]{2, 3, 10}, new int[]{0})));
+    }
+}
@@ -0,0 +1,382 @@
+package sorting;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Merge sorts for long[] and double[] keys, and indirect (index) sorts, without boxing.
+ * <p>
+ * - sort(long[]) / sort(double[]): the {@link BottomUpMergeSort} behind
+ *   {@link MergeSort#mergeSortBottomUp(int[])}, specialized per primitive type.
+ *   double[] follows Double.compare: -0.0 before 0.0, NaN last.
+ * - sortedOrder(keys): returns the permutation that sorts keys (keys[order[0]] is the smallest)
+ *   and leaves keys untouched, so large records never move. Stable: equal keys keep
+ *   their index order. For int keys the (key, index) pairs are packed into one long,
+ *   key << 32 | index, and sorted as primitives; for long and double keys the merge sort runs
+ *   on the index array and compares keys[index].
+ * - reorder(order, column): applies a permutation to one column of a struct-of-arrays in place,
+ *   so every column can be sorted by one key column:
+ *   <pre>
+ *   int[] order = sorter.sortedOrder(timestamps);
+ *   sorter.reorder(order, timestamps);
+ *   sorter.reorder(order, userIds);
+ *   sorter.reorder(order, amounts);
+ *   </pre>
+ * <p>
+ * The temp buffers are kept between calls, one per element type.
+ */
+public class KeyedMergeSort {
+
+    private int[] intTemp;
+    private long[] longTemp;
+    private double[] doubleTemp;
+
+    private final BottomUpMergeSort<long[]> longSort = new BottomUpMergeSort<>() {
+        @Override
+        void insertionSort(long[] array, int from, int to) {
+            KeyedMergeSort.insertionSort(array, from, to);
+        }
+
+        @Override
+        void merge(long[] src, long[] dst, int lo, int mid, int hi) {
+            if (src[mid - 1] <= src[mid]) {
+                System.arraycopy(src, lo, dst, lo, hi - lo);
+                return;
+            }
+            int i = lo;
+            int j = mid;
+            int k = lo;
+            while (i < mid && j < hi) {
+                dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+            }
+            System.arraycopy(src, i, dst, k, mid - i);
+            System.arraycopy(src, j, dst, k + mid - i, hi - j);
+        }
+
+        @Override
+        long[] temp(int length) {
+            return longTemp(length);
+        }
+    };
+
+    private final BottomUpMergeSort<double[]> doubleSort = new BottomUpMergeSort<>() {
+        @Override
+        void insertionSort(double[] array, int from, int to) {
+            KeyedMergeSort.insertionSort(array, from, to);
+        }
+
+        @Override
+        void merge(double[] src, double[] dst, int lo, int mid, int hi) {
+            if (Double.compare(src[mid - 1], src[mid]) <= 0) {
+                System.arraycopy(src, lo, dst, lo, hi - lo);
+                return;
+            }
+            int i = lo;
+            int j = mid;
+            int k = lo;
+            while (i < mid && j < hi) {
+                dst[k++] = Double.compare(src[i], src[j]) <= 0 ? src[i++] : src[j++];
+            }
+            System.arraycopy(src, i, dst, k, mid - i);
+            System.arraycopy(src, j, dst, k + mid - i, hi - j);
+        }
+
+        @Override
+        double[] temp(int length) {
+            return doubleTemp(length);
+        }
+    };
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * @param array the array to be sorted (will be modified)
+     */
+    public void sort(long[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        longSort.sort(array, array.length);
+    }
+
+    /**
+     * Sorts the array in ascending order of Double.compare (-0.0 before 0.0, NaN last).
+     *
+     * @param array the array to be sorted (will be modified)
+     */
+    public void sort(double[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        doubleSort.sort(array, array.length);
+    }
+
+    /**
+     * @return the stable permutation that sorts keys, keys is not modified
+     */
+    public int[] sortedOrder(int[] keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        int n = keys.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = (long) keys[i] << 32 | i; // index breaks ties, so the order is stable
+        }
+        sort(packed);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    /**
+     * @return the stable permutation that sorts keys, keys is not modified
+     */
+    public int[] sortedOrder(long[] keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        int n = keys.length;
+        int[] order = identity(n);
+        new BottomUpMergeSort<int[]>() {
+            @Override
+            void insertionSort(int[] array, int from, int to) {
+                KeyedMergeSort.insertionSort(array, keys, from, to);
+            }
+
+            @Override
+            void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+                if (keys[src[mid - 1]] <= keys[src[mid]]) {
+                    System.arraycopy(src, lo, dst, lo, hi - lo);
+                    return;
+                }
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    dst[k++] = keys[src[i]] <= keys[src[j]] ? src[i++] : src[j++];
+                }
+                System.arraycopy(src, i, dst, k, mid - i);
+                System.arraycopy(src, j, dst, k + mid - i, hi - j);
+            }
+
+            @Override
+            int[] temp(int length) {
+                return intTemp(length);
+            }
+        }.sort(order, n);
+        return order;
+    }
+
+    /**
+     * @return the stable permutation that sorts keys by Double.compare, keys is not modified
+     */
+    public int[] sortedOrder(double[] keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        int n = keys.length;
+        int[] order = identity(n);
+        new BottomUpMergeSort<int[]>() {
+            @Override
+            void insertionSort(int[] array, int from, int to) {
+                KeyedMergeSort.insertionSort(array, keys, from, to);
+            }
+
+            @Override
+            void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+                if (Double.compare(keys[src[mid - 1]], keys[src[mid]]) <= 0) {
+                    System.arraycopy(src, lo, dst, lo, hi - lo);
+                    return;
+                }
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    dst[k++] = Double.compare(keys[src[i]], keys[src[j]]) <= 0 ? src[i++] : src[j++];
+                }
+                System.arraycopy(src, i, dst, k, mid - i);
+                System.arraycopy(src, j, dst, k + mid - i, hi - j);
+            }
+
+            @Override
+            int[] temp(int length) {
+                return intTemp(length);
+            }
+        }.sort(order, n);
+        return order;
+    }
+
+    /**
+     * Rearranges column in place so that column[i] becomes the old column[order[i]].
+     */
+    public void reorder(int[] order, int[] column) {
+        checkPermutationLength(order, column.length);
+        int[] old = intTemp(column.length);
+        System.arraycopy(column, 0, old, 0, column.length);
+        for (int i = 0; i < order.length; i++) {
+            column[i] = old[order[i]];
+        }
+    }
+
+    /**
+     * Rearranges column in place so that column[i] becomes the old column[order[i]].
+     */
+    public void reorder(int[] order, long[] column) {
+        checkPermutationLength(order, column.length);
+        long[] old = longTemp(column.length);
+        System.arraycopy(column, 0, old, 0, column.length);
+        for (int i = 0; i < order.length; i++) {
+            column[i] = old[order[i]];
+        }
+    }
+
+    /**
+     * Rearranges column in place so that column[i] becomes the old column[order[i]].
+     */
+    public void reorder(int[] order, double[] column) {
+        checkPermutationLength(order, column.length);
+        double[] old = doubleTemp(column.length);
+        System.arraycopy(column, 0, old, 0, column.length);
+        for (int i = 0; i < order.length; i++) {
+            column[i] = old[order[i]];
+        }
+    }
+
+    /**
+     * Rearranges column in place so that column[i] becomes the old column[order[i]].
+     */
+    public <T> void reorder(int[] order, T[] column) {
+        checkPermutationLength(order, column.length);
+        T[] old = column.clone();
+        for (int i = 0; i < order.length; i++) {
+            column[i] = old[order[i]];
+        }
+    }
+
+    private static void insertionSort(long[] a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long key = a[i];
+            int j = i - 1;
+            while (j >= from && a[j] > key) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+    private static void insertionSort(double[] a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            double key = a[i];
+            int j = i - 1;
+            while (j >= from && Double.compare(a[j], key) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+    // index sorts: order[from, to) by keys[order[i]]
+    private static void insertionSort(int[] order, long[] keys, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int index = order[i];
+            int j = i - 1;
+            while (j >= from && keys[order[j]] > keys[index]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
+
+    private static void insertionSort(int[] order, double[] keys, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int index = order[i];
+            int j = i - 1;
+            while (j >= from && Double.compare(keys[order[j]], keys[index]) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    private static void checkPermutationLength(int[] order, int length) {
+        if (order.length != length) {
+            throw new IllegalArgumentException("order has " + order.length + " entries, column has " + length);
+        }
+    }
+
+    private int[] intTemp(int length) {
+        if (intTemp == null || intTemp.length < length) {
+            intTemp = new int[length];
+        }
+        return intTemp;
+    }
+
+    private long[] longTemp(int length) {
+        if (longTemp == null || longTemp.length < length) {
+            longTemp = new long[length];
+        }
+        return longTemp;
+    }
+
+    private double[] doubleTemp(int length) {
+        if (doubleTemp == null || doubleTemp.length < length) {
+            doubleTemp = new double[length];
+        }
+        return doubleTemp;
+    }
+
+    public static void main(String[] args) {
+        KeyedMergeSort sorter = new KeyedMergeSort();
+
+        double[] values = {3.5, -0.0, Double.NaN, 0.0, -2.25, Double.NEGATIVE_INFINITY};
+        sorter.sort(values);
+        System.out.println("Sorted doubles: " + Arrays.toString(values)); // [-Infinity, -2.25, -0.0, 0.0, 3.5, NaN]
+
+        // struct of arrays: events sorted by timestamp, all columns follow
+        long[] timestamps = {1700000300L, 1700000100L, 1700000200L, 1700000100L};
+        int[] userIds = {7, 3, 5, 9};
+        double[] amounts = {19.99, 5.00, 12.50, 1.25};
+        String[] labels = {"d", "a", "c", "b"};
+
+        int[] order = sorter.sortedOrder(timestamps);
+        System.out.println("Order: " + Arrays.toString(order)); // [1, 3, 2, 0], 1 before 3: stable
+        sorter.reorder(order, timestamps);
+        sorter.reorder(order, userIds);
+        sorter.reorder(order, amounts);
+        sorter.reorder(order, labels);
+        System.out.println("Timestamps: " + Arrays.toString(timestamps));
+        System.out.println("User ids: " + Arrays.toString(userIds)); // [3, 9, 5, 7]
+        System.out.println("Amounts: " + Arrays.toString(amounts));
+        System.out.println("Labels: " + Arrays.toString(labels)); // [a, b, c, d]
+
+        // benchmark: primitive sort vs boxing into a Comparator-based sort
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        long[] data = new SplittableRandom(42).longs(size).toArray();
+        long[] a = data.clone();
+        long start = System.nanoTime();
+        sorter.sort(a);
+        long primitiveTime = System.nanoTime() - start;
+
+        Long[] boxed = Arrays.stream(data).boxed().toArray(Long[]::new);
+        start = System.nanoTime();
+        Arrays.sort(boxed, Long::compare);
+        long boxedTime = System.nanoTime() - start;
+        System.out.printf("sort(long[]) %d: %.0f ms, Long[] + Comparator: %.0f ms%n",
+                size, primitiveTime / 1e6, boxedTime / 1e6);
+    }
+}
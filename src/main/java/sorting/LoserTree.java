@@ -0,0 +1,90 @@
+package sorting;
+
+import java.util.Arrays;
+
+/**
+ * Tournament tree of losers over k sorted sources, for k-way merging.
+ * <p>
+ * A binary heap of k heads costs about 2 log k comparisons per output element (sift down
+ * compares with both children). A loser tree keeps, in every internal node, the loser of the
+ * match played there and the overall winner in node 0. After the winner's source advances, its
+ * new head replays only the matches on the path from its leaf to the root: log k comparisons,
+ * one per level, and no swaps of whole entries.
+ * <p>
+ * Subclasses define the order of the sources' current heads with {@link #before(int, int)};
+ * an exhausted source must come after every non-exhausted one. Ties are broken by source index,
+ * so a merge of runs is stable.
+ */
+abstract class LoserTree {
+
+    private final int k;
+    private final int[] tree; // tree[0] = winner, tree[1..k) = losers of the internal nodes
+
+    LoserTree(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be greater than 0");
+        }
+        this.k = k;
+        this.tree = new int[k];
+    }
+
+    /**
+     * @return true if the current head of source i has to be output before the one of source j
+     */
+    protected abstract boolean before(int i, int j);
+
+    /**
+     * Plays all matches. Call once every source is positioned at its first element.
+     * <p>
+     * The leaves enter one by one; the first value reaching an internal node waits there, the
+     * second plays it and the winner moves up. Every internal node gets exactly two arrivals.
+     */
+    void initialize() {
+        Arrays.fill(tree, -1);
+        for (int source = 0; source < k; source++) {
+            int winner = source;
+            int node = (source + k) >>> 1;
+            while (node > 0) {
+                if (tree[node] < 0) {
+                    tree[node] = winner;
+                    winner = -1;
+                    break;
+                }
+                if (beats(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+                node >>>= 1;
+            }
+            if (winner >= 0) tree[0] = winner;
+        }
+    }
+
+    /**
+     * @return the source whose head comes first
+     */
+    int winner() {
+        return tree[0];
+    }
+
+    /**
+     * Call after the winner's source advanced (or got exhausted): replays its path to the root.
+     */
+    void replay() {
+        int winner = tree[0];
+        for (int node = (winner + k) >>> 1; node > 0; node >>>= 1) {
+            if (beats(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    // i wins ties against higher indices: one before() call per match
+    private boolean beats(int i, int j) {
+        return i < j ? !before(j, i) : before(i, j);
+    }
+}
@@ -4,6 +4,30 @@ import java.util.Arrays;
 
 public class MergeSort {
     private int[] tempArray;
+    private NaturalMergeSort naturalMergeSort;
+
+    private final BottomUpMergeSort<int[]> bottomUp = new BottomUpMergeSort<>() {
+        @Override
+        void insertionSort(int[] array, int from, int to) {
+            MergeSort.insertionSort(array, from, to);
+        }
+
+        @Override
+        void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+            if (src[mid - 1] <= src[mid]) {
+                // already ordered
+                System.arraycopy(src, lo, dst, lo, hi - lo);
+            } else {
+                MergeSort.merge(src, dst, lo, mid, hi);
+            }
+        }
+
+        @Override
+        int[] temp(int length) {
+            ensureTempCapacity(length);
+            return tempArray;
+        }
+    };
 
 
     /**
@@ -20,10 +44,72 @@ public class MergeSort {
         if (array.length <= 1) return;
 
         // use one temporary array
-        tempArray = new int[array.length];
+        ensureTempCapacity(array.length);
         mergeSortRecursive(array, 0, array.length - 1);
     }
 
+    /**
+     * Sorts an array using the bottom-up (iterative) merge sort algorithm.
+     * <p>
+     * - Short runs are insertion sorted, then every pass merges pairs of runs while the array and
+     *   the temp array swap roles (see {@link BottomUpMergeSort}).
+     * - Two runs that are already in order (last of left <= first of right) are copied, not merged.
+     * - The only allocation is tempArray, which is kept and reused by the next call.
+     *
+     * @param array the array to be sorted (will be modified)
+     */
+    public void mergeSortBottomUp(int[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+
+        bottomUp.sort(array, array.length);
+    }
+
+    /**
+     * Sorts an array with the adaptive natural merge sort ({@link NaturalMergeSort}):
+     * existing ascending/descending runs are kept, so sorted or nearly sorted input
+     * takes linear or close to linear time.
+     *
+     * @param array the array to be sorted (will be modified)
+     */
+    public void mergeSortAdaptive(int[] array) {
+        if (naturalMergeSort == null) {
+            naturalMergeSort = new NaturalMergeSort();
+        }
+        naturalMergeSort.sort(array);
+    }
+
+    /**
+     * Merges src[lo, mid) and src[mid, hi) into dst[lo, hi).
+     */
+    private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+        int i = lo;
+        int j = mid;
+        int k = lo;
+
+        while (i < mid && j < hi) {
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+
+        // copy elements that left behind
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    /**
+     * Reuse the temp array of a previous call when it is large enough.
+     */
+    private void ensureTempCapacity(int length) {
+        if (tempArray == null || tempArray.length < length) {
+            tempArray = new int[length];
+        }
+    }
+
     private void mergeSortRecursive(int[] array, int left, int right) {
         if (left < right) {
             int mid = left + (right - left) / 2; // prevent overflow
@@ -97,10 +183,17 @@ public class MergeSort {
      * @param arr the array to be sorted (will be modified)
      */
     private void insertionSort(int[] arr) {
-        for (int i = 1; i < arr.length; i++) {
+        insertionSort(arr, 0, arr.length);
+    }
+
+    /**
+     * Insertion sort of the range arr[from, to).
+     */
+    private static void insertionSort(int[] arr, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
             int key = arr[i];
             int j = i - 1;
-            while (j >= 0 && arr[j] > key) {
+            while (j >= from && arr[j] > key) {
                 arr[j + 1] = arr[j];
                 j--;
             }
@@ -160,6 +253,10 @@ public class MergeSort {
         mergeSort.mergeSortImproved(arr2);
         System.out.println("Sorted array: " + Arrays.toString(arr2));
 
+        int[] arr3 = new int[]{9, 8, 7, 6, 5, 4, 3, 2, 1, 0, -1, -2, -3, -4, -5, -6, -7, -8, -9, -10};
+        mergeSort.mergeSortBottomUp(arr3);
+        System.out.println("Sorted array: " + Arrays.toString(arr3));
+
 
     }
 
@@ -0,0 +1,332 @@
+package sorting;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Adaptive merge sort that uses the order already present in the input (TimSort-style, for int[]).
+ * <p>
+ * - The array is scanned for natural runs: maximal ascending, or strictly descending stretches
+ *   (reversed in place; strict so equal elements never swap). Runs shorter than minRun (16..32,
+ *   chosen so n / minRun is close to a power of two) are extended with insertion sort.
+ * - Runs are pushed on a stack and merged while the lengths break the invariants
+ *   len[i - 2] > len[i - 1] + len[i] and len[i - 1] > len[i] (also checked one level deeper,
+ *   the fixed TimSort rule). That keeps merges balanced and the stack O(log n).
+ * - Before a merge, the prefix of the left run that is <= the first element of the right run and
+ *   the suffix of the right run that is >= the last of the left one are skipped, found by
+ *   galloping (exponential then binary search); those elements are already in place.
+ * - During a merge, once one run wins minGallop times in a row the merge switches to galloping:
+ *   the whole stretch that wins is located by exponential search and moved with one arraycopy.
+ *   minGallop adapts: it shrinks while galloping pays off and grows when it does not.
+ * <p>
+ * Sorted input is one run: n - 1 comparisons, no merge, no buffer. Reverse sorted input is one
+ * reversal. Random input degenerates to insertion-sorted runs + balanced merges, like a regular
+ * merge sort. The temp buffer (for the left run of a merge) is kept between calls.
+ */
+public class NaturalMergeSort {
+
+    private static final int MIN_MERGE = 32;
+    private static final int MIN_GALLOP = 7;
+
+    private int[] tempArray;
+    private int minGallop;
+    private int[] runBase = new int[49];
+    private int[] runLen = new int[49];
+    private int stackSize;
+
+    /**
+     * Sorts an array in ascending order, stable.
+     *
+     * @param array the array to be sorted (will be modified)
+     */
+    public void sort(int[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        int n = array.length;
+        if (n < 2) return;
+
+        if (n < MIN_MERGE) {
+            int run = countRunAndMakeAscending(array, 0, n);
+            insertionSort(array, 0, n, run);
+            return;
+        }
+
+        stackSize = 0;
+        minGallop = MIN_GALLOP;
+        int minRun = minRunLength(n);
+        int lo = 0;
+        int remaining = n;
+        do {
+            int run = countRunAndMakeAscending(array, lo, n);
+            if (run < minRun) {
+                int forced = Math.min(remaining, minRun);
+                insertionSort(array, lo, lo + forced, lo + run);
+                run = forced;
+            }
+            pushRun(lo, run);
+            mergeCollapse(array);
+            lo += run;
+            remaining -= run;
+        } while (remaining != 0);
+
+        mergeForceCollapse(array);
+    }
+
+    /**
+     * @return length of the run starting at lo, descending runs are reversed to ascending
+     */
+    private static int countRunAndMakeAscending(int[] a, int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+
+        if (a[runHi++] < a[lo]) {
+            // strictly descending
+            while (runHi < hi && a[runHi] < a[runHi - 1]) runHi++;
+            reverseRange(a, lo, runHi);
+        } else {
+            while (runHi < hi && a[runHi] >= a[runHi - 1]) runHi++;
+        }
+        return runHi - lo;
+    }
+
+    private static void reverseRange(int[] a, int lo, int hi) {
+        hi--;
+        while (lo < hi) {
+            int t = a[lo];
+            a[lo++] = a[hi];
+            a[hi--] = t;
+        }
+    }
+
+    /**
+     * Sorts a[lo, hi) where a[lo, start) is already sorted. Plain insertion sort: for ints a
+     * shifting loop over at most minRun elements beats binary search + arraycopy.
+     */
+    private static void insertionSort(int[] a, int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            int key = a[start];
+            int j = start - 1;
+            while (j >= lo && a[j] > key) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+    /**
+     * n < 32: n itself, else a value in [16, 32] such that n / minRun is a power of two or
+     * slightly less, so the final merges are balanced.
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    private void pushRun(int base, int len) {
+        runBase[stackSize] = base;
+        runLen[stackSize] = len;
+        stackSize++;
+    }
+
+    private void mergeCollapse(int[] a) {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                    || n > 1 && runLen[n - 2] <= runLen[n - 1] + runLen[n]) {
+                if (runLen[n - 1] < runLen[n + 1]) n--;
+            } else if (runLen[n] > runLen[n + 1]) {
+                break; // invariants hold
+            }
+            mergeAt(a, n);
+        }
+    }
+
+    private void mergeForceCollapse(int[] a) {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+            mergeAt(a, n);
+        }
+    }
+
+    /**
+     * Merges the runs i and i + 1 of the stack.
+     */
+    private void mergeAt(int[] a, int i) {
+        int base1 = runBase[i];
+        int len1 = runLen[i];
+        int base2 = runBase[i + 1];
+        int len2 = runLen[i + 1];
+
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        // elements of run1 <= run2[0] are already in place
+        int skip = gallopRight(a[base2], a, base1, base1 + len1) - base1;
+        base1 += skip;
+        len1 -= skip;
+        if (len1 == 0) return;
+
+        // elements of run2 >= run1[last] are already in place
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, base2 + len2) - base2;
+        if (len2 == 0) return;
+
+        mergeLo(a, base1, len1, base2, len2);
+    }
+
+    /**
+     * Merges a[base1, base1 + len1) and the following a[base2, base2 + len2): the left run is
+     * copied to the temp buffer and merged forward into a.
+     */
+    private void mergeLo(int[] a, int base1, int len1, int base2, int len2) {
+        if (tempArray == null || tempArray.length < len1) {
+            tempArray = new int[Math.max(len1, a.length / 2)];
+        }
+        int[] tmp = tempArray;
+        System.arraycopy(a, base1, tmp, 0, len1);
+
+        int t = 0;           // next of run1 (in tmp)
+        int tEnd = len1;
+        int j = base2;       // next of run2 (in a)
+        int hi = base2 + len2;
+        int k = base1;       // next output position
+
+        outer:
+        while (true) {
+            int count1 = 0; // times in a row run1 won
+            int count2 = 0; // times in a row run2 won
+            do {
+                if (a[j] < tmp[t]) {
+                    a[k++] = a[j++];
+                    count2++;
+                    count1 = 0;
+                    if (j == hi) break outer;
+                } else {
+                    a[k++] = tmp[t++];
+                    count1++;
+                    count2 = 0;
+                    if (t == tEnd) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+
+            // galloping mode: move whole winning stretches at once
+            do {
+                count1 = gallopRight(a[j], tmp, t, tEnd) - t;
+                if (count1 != 0) {
+                    System.arraycopy(tmp, t, a, k, count1);
+                    t += count1;
+                    k += count1;
+                    if (t == tEnd) break outer;
+                }
+                a[k++] = a[j++];
+                if (j == hi) break outer;
+
+                count2 = gallopLeft(tmp[t], a, j, hi) - j;
+                if (count2 != 0) {
+                    System.arraycopy(a, j, a, k, count2);
+                    j += count2;
+                    k += count2;
+                    if (j == hi) break outer;
+                }
+                a[k++] = tmp[t++];
+                if (t == tEnd) break outer;
+                if (minGallop > 1) minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            minGallop += 2; // penalty for leaving galloping mode
+        }
+
+        // the rest of run2 is already in place, the rest of run1 goes in front of it
+        System.arraycopy(tmp, t, a, k, tEnd - t);
+    }
+
+    // first index in [from, to) with a[index] > key, exponential search from the left end
+    private static int gallopRight(int key, int[] a, int from, int to) {
+        int n = to - from;
+        if (n == 0 || key < a[from]) return from;
+        int lastOfs = 0;
+        int ofs = 1;
+        while (ofs < n && a[from + ofs] <= key) {
+            lastOfs = ofs;
+            ofs = (ofs << 1) + 1;
+            if (ofs <= 0) ofs = n; // overflow
+        }
+        int left = from + lastOfs + 1;
+        int right = from + Math.min(ofs, n);
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (a[mid] <= key) left = mid + 1;
+            else right = mid;
+        }
+        return left;
+    }
+
+    // first index in [from, to) with a[index] >= key, exponential search from the left end
+    private static int gallopLeft(int key, int[] a, int from, int to) {
+        int n = to - from;
+        if (n == 0 || key <= a[from]) return from;
+        int lastOfs = 0;
+        int ofs = 1;
+        while (ofs < n && a[from + ofs] < key) {
+            lastOfs = ofs;
+            ofs = (ofs << 1) + 1;
+            if (ofs <= 0) ofs = n; // overflow
+        }
+        int left = from + lastOfs + 1;
+        int right = from + Math.min(ofs, n);
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (a[mid] < key) left = mid + 1;
+            else right = mid;
+        }
+        return left;
+    }
+
+    // benchmark: [size]
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        SplittableRandom random = new SplittableRandom(42);
+
+        int[] randomInput = random.ints(size).toArray();
+        int[] sorted = randomInput.clone();
+        Arrays.sort(sorted);
+        int[] appends = sorted.clone(); // sorted prefix + 1% random appends
+        for (int i = size - size / 100; i < size; i++) {
+            appends[i] = random.nextInt();
+        }
+        int[] descending = new int[size];
+        for (int i = 0; i < size; i++) {
+            descending[i] = sorted[size - 1 - i];
+        }
+
+        NaturalMergeSort natural = new NaturalMergeSort();
+        MergeSort mergeSort = new MergeSort();
+        String[] names = {"sorted", "1% appends", "descending", "random"};
+        int[][] inputs = {sorted, appends, descending, randomInput};
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < inputs.length; i++) {
+                int[] a = inputs[i].clone();
+                long start = System.nanoTime();
+                natural.sort(a);
+                long naturalTime = System.nanoTime() - start;
+
+                int[] b = inputs[i].clone();
+                start = System.nanoTime();
+                mergeSort.mergeSortImproved(b);
+                long improvedTime = System.nanoTime() - start;
+
+                System.out.printf("%-11s natural: %5.0f ms, mergeSortImproved: %5.0f ms, sorted: %b%n",
+                        names[i], naturalTime / 1e6, improvedTime / 1e6, Arrays.equals(a, b));
+            }
+        }
+    }
+}
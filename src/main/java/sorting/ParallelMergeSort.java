@@ -0,0 +1,358 @@
+package sorting;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join version of {@link MergeSort#mergeSortImproved(int[])}.
+ * <p>
+ * - The two halves are sorted as parallel tasks, down to a tunable cutoff where a range is
+ *   sorted sequentially (Arrays.sort, same as Arrays.parallelSort does for its leaves).
+ * - One temp buffer the size of the array is allocated up front (and kept for the next call);
+ *   every task works on its own index range of it, so tasks never allocate.
+ * - No copy back after each merge: the levels alternate ("ping-pong") between the array and
+ *   the buffer, a task is told which of the two its sorted range has to end up in.
+ * - A merge of two ordered halves (last of left <= first of right) is a plain arraycopy.
+ * - Merges above the cutoff are parallel too: the median of the longer run is binary searched
+ *   in the shorter one, which splits the merge into two independent merges. Without that the
+ *   final merge alone is a sequential O(n) pass and caps the speedup.
+ * <p>
+ * The long[] variant is the same algorithm; it also sorts packed (key, index) pairs, see
+ * {@link ExternalMergeSort}.
+ * <p>
+ * An instance is not meant to be used by several threads at the same time (shared buffer).
+ */
+public class ParallelMergeSort {
+
+    public static final int DEFAULT_CUTOFF = 1 << 13;
+
+    private final ForkJoinPool pool;
+    private final int cutoff;
+    private int[] tempArray;
+    private long[] longTempArray;
+
+    public ParallelMergeSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CUTOFF);
+    }
+
+    /**
+     * @param pool   pool running the sort and merge tasks
+     * @param cutoff ranges (and merges) of at most this many elements are handled sequentially
+     */
+    public ParallelMergeSort(ForkJoinPool pool, int cutoff) {
+        if (cutoff < 2) {
+            throw new IllegalArgumentException("cutoff must be at least 2");
+        }
+        this.pool = pool;
+        this.cutoff = cutoff;
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * @param array the array to be sorted (will be modified)
+     */
+    public void sort(int[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        if (array.length <= cutoff) {
+            Arrays.sort(array);
+            return;
+        }
+        if (tempArray == null || tempArray.length < array.length) {
+            tempArray = new int[array.length];
+        }
+        pool.invoke(new SortTask(array, tempArray, 0, array.length, false));
+    }
+
+    /**
+     * Sorts the range array[fromIndex, toIndex) in ascending order.
+     * The temp buffer is indexed like the array, so it is toIndex long.
+     *
+     * @param array the array to be sorted (will be modified)
+     */
+    public void sort(long[] array, int fromIndex, int toIndex) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        if (fromIndex < 0 || toIndex > array.length || fromIndex > toIndex) {
+            throw new IllegalArgumentException("Invalid range [" + fromIndex + ", " + toIndex + ")");
+        }
+        if (toIndex - fromIndex <= cutoff) {
+            Arrays.sort(array, fromIndex, toIndex);
+            return;
+        }
+        if (longTempArray == null || longTempArray.length < toIndex) {
+            longTempArray = new long[toIndex];
+        }
+        pool.invoke(new LongSortTask(array, longTempArray, fromIndex, toIndex, false));
+    }
+
+    public void sort(long[] array) {
+        sort(array, 0, array == null ? 0 : array.length);
+    }
+
+    /**
+     * Sorts array[lo, hi). The sorted range ends up in the buffer if intoTemp, else in the array.
+     * The input is always read from the array.
+     */
+    private final class SortTask extends RecursiveAction {
+        private final int[] array;
+        private final int[] temp;
+        private final int lo;
+        private final int hi;
+        private final boolean intoTemp;
+
+        SortTask(int[] array, int[] temp, int lo, int hi, boolean intoTemp) {
+            this.array = array;
+            this.temp = temp;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoTemp = intoTemp;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                Arrays.sort(array, lo, hi);
+                if (intoTemp) System.arraycopy(array, lo, temp, lo, hi - lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            // the halves go to the other buffer, the merge brings them into the target one
+            invokeAll(new SortTask(array, temp, lo, mid, !intoTemp),
+                    new SortTask(array, temp, mid, hi, !intoTemp));
+            int[] src = intoTemp ? array : temp;
+            int[] dst = intoTemp ? temp : array;
+            if (src[mid - 1] <= src[mid]) {
+                System.arraycopy(src, lo, dst, lo, hi - lo);
+                return;
+            }
+            new MergeTask(src, dst, lo, mid, mid, hi, lo).compute();
+        }
+    }
+
+    /**
+     * Merges src[lo1, hi1) and src[lo2, hi2) into dst starting at out.
+     */
+    private final class MergeTask extends RecursiveAction {
+        private final int[] src;
+        private final int[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+
+        MergeTask(int[] src, int[] dst, int lo1, int hi1, int lo2, int hi2, int out) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 + n2 <= cutoff || n1 == 0 || n2 == 0) {
+                merge(src, dst, lo1, hi1, lo2, hi2, out);
+                return;
+            }
+            // split the longer run in the middle, find the matching split of the other one;
+            // equal keys of the right run stay after those of the left run (stable)
+            int split1;
+            int split2;
+            if (n1 >= n2) {
+                split1 = (lo1 + hi1) >>> 1;
+                split2 = lowerBound(src, lo2, hi2, src[split1]);
+            } else {
+                split2 = (lo2 + hi2) >>> 1;
+                split1 = upperBound(src, lo1, hi1, src[split2]);
+            }
+            int outSplit = out + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new MergeTask(src, dst, lo1, split1, lo2, split2, out),
+                    new MergeTask(src, dst, split1, hi1, split2, hi2, outSplit));
+        }
+    }
+
+    /**
+     * {@link SortTask} for long[].
+     */
+    private final class LongSortTask extends RecursiveAction {
+        private final long[] array;
+        private final long[] temp;
+        private final int lo;
+        private final int hi;
+        private final boolean intoTemp;
+
+        LongSortTask(long[] array, long[] temp, int lo, int hi, boolean intoTemp) {
+            this.array = array;
+            this.temp = temp;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoTemp = intoTemp;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                Arrays.sort(array, lo, hi);
+                if (intoTemp) System.arraycopy(array, lo, temp, lo, hi - lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new LongSortTask(array, temp, lo, mid, !intoTemp),
+                    new LongSortTask(array, temp, mid, hi, !intoTemp));
+            long[] src = intoTemp ? array : temp;
+            long[] dst = intoTemp ? temp : array;
+            if (src[mid - 1] <= src[mid]) {
+                System.arraycopy(src, lo, dst, lo, hi - lo);
+                return;
+            }
+            new LongMergeTask(src, dst, lo, mid, mid, hi, lo).compute();
+        }
+    }
+
+    /**
+     * {@link MergeTask} for long[].
+     */
+    private final class LongMergeTask extends RecursiveAction {
+        private final long[] src;
+        private final long[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+
+        LongMergeTask(long[] src, long[] dst, int lo1, int hi1, int lo2, int hi2, int out) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 + n2 <= cutoff || n1 == 0 || n2 == 0) {
+                merge(src, dst, lo1, hi1, lo2, hi2, out);
+                return;
+            }
+            int split1;
+            int split2;
+            if (n1 >= n2) {
+                split1 = (lo1 + hi1) >>> 1;
+                split2 = lowerBound(src, lo2, hi2, src[split1]);
+            } else {
+                split2 = (lo2 + hi2) >>> 1;
+                split1 = upperBound(src, lo1, hi1, src[split2]);
+            }
+            int outSplit = out + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new LongMergeTask(src, dst, lo1, split1, lo2, split2, out),
+                    new LongMergeTask(src, dst, split1, hi1, split2, hi2, outSplit));
+        }
+    }
+
+    private static void merge(int[] src, int[] dst, int i, int hi1, int j, int hi2, int k) {
+        while (i < hi1 && j < hi2) {
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        // copy elements that left behind
+        System.arraycopy(src, i, dst, k, hi1 - i);
+        System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+    }
+
+    // first index in [lo, hi) with a[index] >= key
+    private static int lowerBound(int[] a, int lo, int hi, int key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // first index in [lo, hi) with a[index] > key
+    private static int upperBound(int[] a, int lo, int hi, int key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static void merge(long[] src, long[] dst, int i, int hi1, int j, int hi2, int k) {
+        while (i < hi1 && j < hi2) {
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        System.arraycopy(src, i, dst, k, hi1 - i);
+        System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+    }
+
+    private static int lowerBound(long[] a, int lo, int hi, long key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int upperBound(long[] a, int lo, int hi, long key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // benchmark: [size] [cutoff]
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int cutoff = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CUTOFF;
+
+        int[] data = new SplittableRandom(42).ints(size).toArray();
+        int[] expected = data.clone();
+        Arrays.sort(expected);
+
+        ParallelMergeSort parallel = new ParallelMergeSort(ForkJoinPool.commonPool(), cutoff);
+        MergeSort sequential = new MergeSort();
+        for (int round = 0; round < 3; round++) {
+            int[] a = data.clone();
+            long start = System.nanoTime();
+            sequential.mergeSortImproved(a);
+            long sequentialTime = System.nanoTime() - start;
+
+            int[] b = data.clone();
+            start = System.nanoTime();
+            parallel.sort(b);
+            long parallelTime = System.nanoTime() - start;
+
+            System.out.printf("mergeSortImproved: %.0f ms, ParallelMergeSort (%d threads): %.0f ms, sorted: %b%n",
+                    sequentialTime / 1e6, ForkJoinPool.commonPool().getParallelism(), parallelTime / 1e6,
+                    Arrays.equals(a, expected) && Arrays.equals(b, expected));
+        }
+    }
+}
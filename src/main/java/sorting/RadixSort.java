@@ -0,0 +1,286 @@
+package sorting;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel LSD (least significant digit first) radix sort of int[] and long[] keys, optionally
+ * carrying an int[] value per key.
+ * <p>
+ * No comparisons: every pass distributes the keys by one digit of digitBits bits (8: 4 passes for
+ * int, 8 for long; 11: 3 and 6 passes with 2048 buckets, still cache resident). Each pass:
+ * 1. The array is cut into blocks, every block counts its digits into its own histogram (parallel).
+ * 2. Prefix sums over the (digit, block) counts give every block its output offset per digit:
+ *    all smaller digits first, then the same digit of the earlier blocks. That keeps every pass
+ *    stable, which LSD needs. This is radix * blocks additions, done between the parallel phases.
+ * 3. Every block scatters its keys (and values) to its offsets (parallel, no two blocks write the
+ *    same slot).
+ * Passes where every key has the same digit (e.g. the high digits of small values) are skipped.
+ * <p>
+ * Signed keys: the sign bit is flipped when the digit is extracted, so negative keys sort before
+ * positive ones. Keys and values ping-pong between the input and one temp buffer each, which is
+ * kept for the next call. An instance is not meant to be used by several threads at the same time.
+ */
+public class RadixSort {
+
+    public static final int DEFAULT_DIGIT_BITS = 11;
+    private static final int MIN_BLOCK = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int digitBits;
+    private int[] intTemp;
+    private long[] longTemp;
+    private int[] valueTemp;
+
+    public RadixSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_DIGIT_BITS);
+    }
+
+    /**
+     * @param pool      pool running the histogram and scatter phases
+     * @param digitBits bits per pass, 8 or 11 are the useful values
+     */
+    public RadixSort(ForkJoinPool pool, int digitBits) {
+        if (digitBits < 1 || digitBits > 16) {
+            throw new IllegalArgumentException("digitBits must be between 1 and 16");
+        }
+        this.pool = pool;
+        this.digitBits = digitBits;
+    }
+
+    public void sort(int[] keys) {
+        sort(keys, null);
+    }
+
+    /**
+     * Sorts keys in ascending order and applies the same (stable) permutation to values.
+     *
+     * @param values one value per key, may be null
+     */
+    public void sort(int[] keys, int[] values) {
+        checkArguments(keys, values);
+        int n = keys.length;
+        if (n < 2) return;
+
+        int blocks = blocks(n);
+        int blockSize = (n + blocks - 1) / blocks;
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        int[][] counts = new int[blocks][radix];
+
+        int[] src = keys;
+        int[] dst = intTemp = ensureCapacity(intTemp, n);
+        int[] srcValues = values;
+        int[] dstValues = values == null ? null : (valueTemp = ensureCapacity(valueTemp, n));
+
+        for (int shift = 0; shift < Integer.SIZE; shift += digitBits) {
+            int passShift = shift;
+            int[] from = src;
+            forEachBlock(blocks, block -> {
+                int[] count = counts[block];
+                Arrays.fill(count, 0);
+                int hi = Math.min(n, (block + 1) * blockSize);
+                for (int i = block * blockSize; i < hi; i++) {
+                    count[((from[i] ^ Integer.MIN_VALUE) >>> passShift) & mask]++;
+                }
+            });
+            if (!toOffsets(counts, n)) continue; // one digit only, nothing moves
+
+            int[] to = dst;
+            int[] fromValues = srcValues;
+            int[] toValues = dstValues;
+            forEachBlock(blocks, block -> {
+                int[] offset = counts[block];
+                int hi = Math.min(n, (block + 1) * blockSize);
+                if (fromValues == null) {
+                    for (int i = block * blockSize; i < hi; i++) {
+                        int key = from[i];
+                        to[offset[((key ^ Integer.MIN_VALUE) >>> passShift) & mask]++] = key;
+                    }
+                } else {
+                    for (int i = block * blockSize; i < hi; i++) {
+                        int key = from[i];
+                        int position = offset[((key ^ Integer.MIN_VALUE) >>> passShift) & mask]++;
+                        to[position] = key;
+                        toValues[position] = fromValues[i];
+                    }
+                }
+            });
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+            swap = srcValues;
+            srcValues = dstValues;
+            dstValues = swap;
+        }
+        if (src != keys) {
+            System.arraycopy(src, 0, keys, 0, n);
+            if (values != null) System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+
+    public void sort(long[] keys) {
+        sort(keys, null);
+    }
+
+    /**
+     * Sorts keys in ascending order and applies the same (stable) permutation to values.
+     *
+     * @param values one value per key, may be null
+     */
+    public void sort(long[] keys, int[] values) {
+        checkArguments(keys, values);
+        int n = keys.length;
+        if (n < 2) return;
+
+        int blocks = blocks(n);
+        int blockSize = (n + blocks - 1) / blocks;
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        int[][] counts = new int[blocks][radix];
+
+        long[] src = keys;
+        long[] dst = longTemp = ensureCapacity(longTemp, n);
+        int[] srcValues = values;
+        int[] dstValues = values == null ? null : (valueTemp = ensureCapacity(valueTemp, n));
+
+        for (int shift = 0; shift < Long.SIZE; shift += digitBits) {
+            int passShift = shift;
+            long[] from = src;
+            forEachBlock(blocks, block -> {
+                int[] count = counts[block];
+                Arrays.fill(count, 0);
+                int hi = Math.min(n, (block + 1) * blockSize);
+                for (int i = block * blockSize; i < hi; i++) {
+                    count[(int) ((from[i] ^ Long.MIN_VALUE) >>> passShift) & mask]++;
+                }
+            });
+            if (!toOffsets(counts, n)) continue; // one digit only, nothing moves
+
+            long[] to = dst;
+            int[] fromValues = srcValues;
+            int[] toValues = dstValues;
+            forEachBlock(blocks, block -> {
+                int[] offset = counts[block];
+                int hi = Math.min(n, (block + 1) * blockSize);
+                if (fromValues == null) {
+                    for (int i = block * blockSize; i < hi; i++) {
+                        long key = from[i];
+                        to[offset[(int) ((key ^ Long.MIN_VALUE) >>> passShift) & mask]++] = key;
+                    }
+                } else {
+                    for (int i = block * blockSize; i < hi; i++) {
+                        long key = from[i];
+                        int position = offset[(int) ((key ^ Long.MIN_VALUE) >>> passShift) & mask]++;
+                        to[position] = key;
+                        toValues[position] = fromValues[i];
+                    }
+                }
+            });
+            long[] swap = src;
+            src = dst;
+            dst = swap;
+            int[] swapValues = srcValues;
+            srcValues = dstValues;
+            dstValues = swapValues;
+        }
+        if (src != keys) {
+            System.arraycopy(src, 0, keys, 0, n);
+            if (values != null) System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+
+    /**
+     * Turns the per-block digit counts into per-block start offsets, in place (exclusive prefix
+     * sum in digit-major, block-minor order).
+     *
+     * @return false if all n keys have the same digit, the pass can be skipped
+     */
+    private static boolean toOffsets(int[][] counts, int n) {
+        int radix = counts[0].length;
+        int offset = 0;
+        for (int digit = 0; digit < radix; digit++) {
+            int start = offset;
+            for (int[] count : counts) {
+                int c = count[digit];
+                count[digit] = offset;
+                offset += c;
+            }
+            if (offset - start == n) return false;
+        }
+        return true;
+    }
+
+    private int blocks(int n) {
+        return Math.max(1, Math.min(pool.getParallelism() * 4, n / MIN_BLOCK));
+    }
+
+    private void forEachBlock(int blocks, IntConsumer action) {
+        if (blocks == 1) {
+            action.accept(0);
+            return;
+        }
+        // blocks() sized the work for this sorter's pool, so the blocks must run on its workers,
+        // not on the common pool: submitting the stream as a task of pool keeps it there
+        pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(action)).join();
+    }
+
+    private static void checkArguments(Object keys, int[] values) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        int length = keys instanceof int[] ? ((int[]) keys).length : ((long[]) keys).length;
+        if (values != null && values.length != length) {
+            throw new IllegalArgumentException("keys and values must have the same length");
+        }
+    }
+
+    private static int[] ensureCapacity(int[] buffer, int length) {
+        return buffer == null || buffer.length < length ? new int[length] : buffer;
+    }
+
+    private static long[] ensureCapacity(long[] buffer, int length) {
+        return buffer == null || buffer.length < length ? new long[length] : buffer;
+    }
+
+    // benchmark: [size]
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int[] data = new SplittableRandom(42).ints(size).toArray();
+        int[] expected = data.clone();
+        Arrays.sort(expected);
+
+        ParallelMergeSort mergeSort = new ParallelMergeSort();
+        RadixSort radix8 = new RadixSort(ForkJoinPool.commonPool(), 8);
+        RadixSort radix11 = new RadixSort(ForkJoinPool.commonPool(), 11);
+        for (int round = 0; round < 3; round++) {
+            int[] a = data.clone();
+            long start = System.nanoTime();
+            mergeSort.sort(a);
+            long mergeTime = System.nanoTime() - start;
+
+            int[] b = data.clone();
+            start = System.nanoTime();
+            radix8.sort(b);
+            long radix8Time = System.nanoTime() - start;
+
+            int[] c = data.clone();
+            start = System.nanoTime();
+            radix11.sort(c);
+            long radix11Time = System.nanoTime() - start;
+
+            System.out.printf("%d ints, %d threads: ParallelMergeSort %.0f ms, radix 8 bits %.0f ms, radix 11 bits %.0f ms, sorted: %b%n",
+                    size, ForkJoinPool.commonPool().getParallelism(), mergeTime / 1e6, radix8Time / 1e6, radix11Time / 1e6,
+                    Arrays.equals(a, expected) && Arrays.equals(b, expected) && Arrays.equals(c, expected));
+        }
+
+        // key/value mode: sort timestamps and carry the record index along
+        long[] timestamps = {1700000300L, -5L, 1700000100L, 42L, 1700000100L};
+        int[] index = {0, 1, 2, 3, 4};
+        radix11.sort(timestamps, index);
+        System.out.println("Timestamps: " + Arrays.toString(timestamps) + ", records: " + Arrays.toString(index)); // records [1, 3, 2, 4, 0]
+    }
+}
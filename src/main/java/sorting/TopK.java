@@ -0,0 +1,167 @@
+package sorting;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Streaming top-k selection: keeps the k largest values seen so far, optionally with an int id
+ * per value (e.g. the record a score belongs to).
+ * <p>
+ * A bounded min-heap of k primitive entries: the root is the smallest of the current top k, so
+ * a new value is compared with the root first and, once the heap is full, most values of a long
+ * stream are rejected by that one comparison. Accepted values replace the root and sift down:
+ * O(n log k) worst case, O(k) memory, nothing else is materialized.
+ * A value equal to the current threshold does not get in; which of several equal values at the
+ * threshold stays when a larger one arrives is unspecified.
+ */
+public class TopK {
+
+    private final int k;
+    private final long[] heap;
+    private final int[] ids;
+    private int size;
+
+    public TopK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be greater than 0");
+        }
+        this.k = k;
+        this.heap = new long[k];
+        this.ids = new int[k];
+    }
+
+    /**
+     * Offers a value without an id ({@link #ids()} reports -1 for it).
+     *
+     * @return true if the value is (for now) among the top k
+     */
+    public boolean offer(long value) {
+        return offer(value, -1);
+    }
+
+    /**
+     * @return true if the value is (for now) among the top k
+     */
+    public boolean offer(long value, int id) {
+        if (size < k) {
+            heap[size] = value;
+            ids[size] = id;
+            siftUp(size++);
+            return true;
+        }
+        if (value <= heap[0]) return false;
+        heap[0] = value;
+        ids[0] = id;
+        siftDown(0);
+        return true;
+    }
+
+    public void offerAll(int[] values) {
+        for (int i = 0; i < values.length; i++) {
+            offer(values[i], i);
+        }
+    }
+
+    public void offerAll(long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            offer(values[i], i);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the smallest value currently in the top k, a value must be greater to get in
+     */
+    public long threshold() {
+        if (size == 0) {
+            throw new IllegalStateException("TopK is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * @return the top values, largest first
+     */
+    public long[] values() {
+        int[] order = descendingOrder();
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = heap[order[i]];
+        }
+        return values;
+    }
+
+    /**
+     * @return the ids of {@link #values()}, in the same order (-1 where offered without id)
+     */
+    public int[] ids() {
+        int[] order = descendingOrder();
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = ids[order[i]];
+        }
+        return result;
+    }
+
+    private int[] descendingOrder() {
+        long[] values = Arrays.copyOf(heap, size);
+        for (int i = 0; i < size; i++) {
+            values[i] = ~values[i]; // ~ reverses the order of longs, no overflow unlike negation
+        }
+        return new KeyedMergeSort().sortedOrder(values);
+    }
+
+    private void siftUp(int i) {
+        long value = heap[i];
+        int id = ids[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[i] = heap[parent];
+            ids[i] = ids[parent];
+            i = parent;
+        }
+        heap[i] = value;
+        ids[i] = id;
+    }
+
+    private void siftDown(int i) {
+        long value = heap[i];
+        int id = ids[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (value <= heap[child]) break;
+            heap[i] = heap[child];
+            ids[i] = ids[child];
+            i = child;
+        }
+        heap[i] = value;
+        ids[i] = id;
+    }
+
+    // streaming benchmark: [k] [stream length]
+    public static void main(String[] args) {
+        int k = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long n = args.length > 1 ? Long.parseLong(args[1]) : 200_000_000L;
+
+        SplittableRandom random = new SplittableRandom(42);
+        TopK top = new TopK(k);
+        long start = System.nanoTime();
+        for (long i = 0; i < n; i++) {
+            top.offer(random.nextLong(), (int) i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long[] values = top.values();
+        System.out.printf("top %d of %d in %.0f ms, largest %d, threshold %d%n",
+                k, n, elapsed / 1e6, values[0], top.threshold());
+
+        TopK top3 = new TopK(3);
+        top3.offerAll(new int[]{5, 1, 9, 7, 9, 3});
+        System.out.println(Arrays.toString(top3.values()) + " at " + Arrays.toString(top3.ids())); // [9, 9, 7] at [2, 4, 3] or [4, 2, 3]
+    }
+}
@@ -0,0 +1,191 @@
+package system.design.graph;
+
+import java.util.Arrays;
+
+/**
+ * Bit-packed adjacency matrix for dense undirected graphs.
+ * <p>
+ * An int[][] matrix spends 32 bits on every possible edge, so a 100k-vertex graph
+ * needs ~40 GB. Here every row is a long[] where bit (v % 64) of word (v / 64)
+ * says whether the edge exists: 1 bit per edge, 32x less memory (~1.25 GB for 100k vertices).
+ * <p>
+ * Why bitsets?
+ * Degree → Long.bitCount over the row (popcount, one CPU instruction per 64 vertices).
+ * Common neighbours of u and v → popcount of (row[u] AND row[v]), word by word.
+ * Triangle counting → for every edge (u, v) count common neighbours w > v,
+ * so each triangle u < v < w is counted exactly once.
+ * The word loops are plain array scans, which the JIT can unroll and vectorize.
+ */
+public class BitAdjacencyMatrix {
+
+    private static final int WORD_SHIFT = 6; // 64 bits per word
+    private static final int WORD_MASK = 63;
+
+    private final long[][] rows;
+    private final int vertices;
+    private final int words; // words per row
+
+    public BitAdjacencyMatrix(int vertices) {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Number of vertices cannot be negative.");
+        }
+        this.vertices = vertices;
+        this.words = (vertices + WORD_MASK) >>> WORD_SHIFT;
+        this.rows = new long[vertices][words];
+    }
+
+    public int getVertices() {
+        return vertices;
+    }
+
+    public void addEdge(int start, int dest) {
+        validate(start, dest);
+        rows[start][dest >>> WORD_SHIFT] |= 1L << dest;
+        rows[dest][start >>> WORD_SHIFT] |= 1L << start;
+    }
+
+    public void removeEdge(int start, int dest) {
+        validate(start, dest);
+        rows[start][dest >>> WORD_SHIFT] &= ~(1L << dest);
+        rows[dest][start >>> WORD_SHIFT] &= ~(1L << start);
+    }
+
+    public boolean hasEdge(int start, int dest) {
+        validate(start, dest);
+        return (rows[start][dest >>> WORD_SHIFT] & (1L << dest)) != 0;
+    }
+
+    /**
+     * Number of neighbours of the vertex: popcount of its row.
+     */
+    public int degree(int vertex) {
+        validate(vertex, vertex);
+        long[] row = rows[vertex];
+        int degree = 0;
+        for (int w = 0; w < words; w++) {
+            degree += Long.bitCount(row[w]);
+        }
+        return degree;
+    }
+
+    /**
+     * Number of vertices adjacent to both u and v: popcount of (row[u] AND row[v]).
+     */
+    public int countCommonNeighbours(int u, int v) {
+        validate(u, v);
+        long[] a = rows[u];
+        long[] b = rows[v];
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(a[w] & b[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Neighbourhood intersection of u and v, as a sorted array of vertices.
+     */
+    public int[] commonNeighbours(int u, int v) {
+        validate(u, v);
+        long[] a = rows[u];
+        long[] b = rows[v];
+        int[] result = new int[countCommonNeighbours(u, v)];
+        int k = 0;
+        for (int w = 0; w < words; w++) {
+            long bits = a[w] & b[w];
+            while (bits != 0) {
+                // lowest set bit → vertex id, then clear it
+                result[k++] = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Neighbours of the vertex, as a sorted array.
+     */
+    public int[] neighbours(int vertex) {
+        validate(vertex, vertex);
+        long[] row = rows[vertex];
+        int[] result = new int[degree(vertex)];
+        int k = 0;
+        for (int w = 0; w < words; w++) {
+            long bits = row[w];
+            while (bits != 0) {
+                result[k++] = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts triangles u < v < w.
+     * For every edge (u, v) with u < v, the third vertex w is any common neighbour above v,
+     * so only the words from v + 1 onwards are AND-ed (the first one masked).
+     */
+    public long countTriangles() {
+        long triangles = 0;
+        for (int u = 0; u < vertices; u++) {
+            long[] rowU = rows[u];
+            // iterate neighbours v > u of u
+            for (int w = (u + 1) >>> WORD_SHIFT; w < words; w++) {
+                long bits = rowU[w];
+                if (w == (u + 1) >>> WORD_SHIFT) {
+                    bits &= -1L << (u + 1); // drop neighbours <= u
+                }
+                while (bits != 0) {
+                    int v = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    triangles += countCommonNeighboursAbove(rowU, rows[v], v);
+                }
+            }
+        }
+        return triangles;
+    }
+
+    private int countCommonNeighboursAbove(long[] a, long[] b, int v) {
+        int first = (v + 1) >>> WORD_SHIFT;
+        if (first >= words) return 0;
+
+        // (v + 1) & 63 == 0 gives mask -1L, i.e. the whole word
+        int count = Long.bitCount(a[first] & b[first] & (-1L << (v + 1)));
+        for (int w = first + 1; w < words; w++) {
+            count += Long.bitCount(a[w] & b[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Converts to the int[][] representation used by {@link GraphUtils#printGraph(int[][])}.
+     * Only meant for small graphs.
+     */
+    public int[][] toIntMatrix() {
+        int[][] matrix = new int[vertices][vertices];
+        for (int u = 0; u < vertices; u++) {
+            for (int v : neighbours(u)) {
+                matrix[u][v] = 1;
+            }
+        }
+        return matrix;
+    }
+
+    private void validate(int start, int dest) {
+        if (start < 0 || dest < 0 || start >= vertices || dest >= vertices) {
+            throw new IllegalArgumentException("Invalid graph node indices.");
+        }
+    }
+
+    public static void main(String[] args) {
+        // two triangles sharing the edge 1-2: {0, 1, 2} and {1, 2, 3}
+        Integer[][] edges = {{0, 1}, {0, 2}, {1, 2}, {1, 3}, {2, 3}, {3, 4}};
+        BitAdjacencyMatrix matrix = GraphUtils.createGraphBitMatrix(edges, 5);
+
+        GraphUtils.printGraph(matrix.toIntMatrix());
+        System.out.println("Degree of 1: " + matrix.degree(1)); // 3
+        System.out.println("Common neighbours of 1 and 2: "
+                + Arrays.toString(matrix.commonNeighbours(1, 2))); // [0, 3]
+        System.out.println("Triangles: " + matrix.countTriangles()); // 2
+    }
+}
@@ -0,0 +1,162 @@
+package system.design.graph;
+
+import system.design.graph.weighted.WeightedGraph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compressed Sparse Row (CSR) graph representation.
+ * <p>
+ * The neighbours of vertex v are targets[offsets[v] .. offsets[v + 1]) (and weights[] at the same
+ * positions for weighted graphs). Three flat int arrays instead of a HashMap of ArrayLists:
+ * no boxing, no per-edge objects, and a traversal walks memory sequentially.
+ * <p>
+ * Vertex ids are expected to be dense: 0..vertices-1.
+ * Directed graphs store each edge once (u → v), undirected graphs store both directions.
+ * The graph is immutable, so it can be shared by many threads without synchronization.
+ */
+public class CompactGraph {
+
+    private final int vertices;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights; // null for unweighted graphs
+
+    public CompactGraph(int vertices, int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length != vertices + 1 || offsets[vertices] != targets.length) {
+            throw new IllegalArgumentException("Offsets do not match the number of vertices and edges.");
+        }
+        if (weights != null && weights.length != targets.length) {
+            throw new IllegalArgumentException("Weights must have one entry per edge.");
+        }
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Converts a WeightedGraph (both directions of every edge are kept, as stored).
+     */
+    public static CompactGraph of(WeightedGraph graph) {
+        Map<Integer, List<int[]>> adjList = graph.getAdjList();
+        int vertices = maxVertex(adjList) + 1;
+
+        int[] offsets = new int[vertices + 1];
+        for (Map.Entry<Integer, List<int[]>> entry : adjList.entrySet()) {
+            offsets[entry.getKey() + 1] = entry.getValue().size();
+        }
+        prefixSum(offsets);
+
+        int[] targets = new int[offsets[vertices]];
+        int[] weights = new int[offsets[vertices]];
+        for (Map.Entry<Integer, List<int[]>> entry : adjList.entrySet()) {
+            int k = offsets[entry.getKey()];
+            for (int[] neighbor : entry.getValue()) {
+                targets[k] = neighbor[0];
+                weights[k] = neighbor[1];
+                k++;
+            }
+        }
+        return new CompactGraph(vertices, offsets, targets, weights);
+    }
+
+    /**
+     * Converts an adjacency list, e.g. from {@link GraphUtils#createGraphAdjList}.
+     */
+    public static CompactGraph of(Map<Integer, List<Integer>> adjList) {
+        // directed lists may reference targets that have no entry of their own
+        int vertices = maxVertex(adjList) + 1;
+        for (List<Integer> neighbors : adjList.values()) {
+            for (int neighbor : neighbors) {
+                vertices = Math.max(vertices, neighbor + 1);
+            }
+        }
+
+        int[] offsets = new int[vertices + 1];
+        for (Map.Entry<Integer, List<Integer>> entry : adjList.entrySet()) {
+            offsets[entry.getKey() + 1] = entry.getValue().size();
+        }
+        prefixSum(offsets);
+
+        int[] targets = new int[offsets[vertices]];
+        for (Map.Entry<Integer, List<Integer>> entry : adjList.entrySet()) {
+            int k = offsets[entry.getKey()];
+            for (int neighbor : entry.getValue()) {
+                targets[k++] = neighbor;
+            }
+        }
+        return new CompactGraph(vertices, offsets, targets, null);
+    }
+
+    private static int maxVertex(Map<Integer, ? extends List<?>> adjList) {
+        int max = -1;
+        for (Integer vertex : adjList.keySet()) {
+            if (vertex < 0) {
+                throw new IllegalArgumentException("Vertex ids must be non-negative.");
+            }
+            max = Math.max(max, vertex);
+        }
+        return max;
+    }
+
+    private static void prefixSum(int[] offsets) {
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+    }
+
+    public int getVertices() {
+        return vertices;
+    }
+
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public int[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Reverses every edge (u → v becomes v → u), keeping the weights.
+     * Gives the incoming edges of every vertex of a directed graph.
+     */
+    public CompactGraph transpose() {
+        int[] newOffsets = new int[vertices + 1];
+        for (int target : targets) {
+            newOffsets[target + 1]++;
+        }
+        prefixSum(newOffsets);
+
+        int[] next = Arrays.copyOf(newOffsets, vertices);
+        int[] newTargets = new int[targets.length];
+        int[] newWeights = weights == null ? null : new int[weights.length];
+        for (int v = 0; v < vertices; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int k = next[targets[e]]++;
+                newTargets[k] = v;
+                if (weights != null) newWeights[k] = weights[e];
+            }
+        }
+        return new CompactGraph(vertices, newOffsets, newTargets, newWeights);
+    }
+}
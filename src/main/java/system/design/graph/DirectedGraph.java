@@ -0,0 +1,65 @@
+package system.design.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Directed graph: an edge start → dest is stored only in the list of start.
+ * Used for dependency graphs (build targets, scheduled jobs), where "a → b" means
+ * "a must run before b".
+ */
+public class DirectedGraph {
+
+    private final Map<Integer, List<Integer>> adjList;
+
+    public DirectedGraph() {
+        this.adjList = new HashMap<>();
+    }
+
+    public Map<Integer, List<Integer>> getAdjList() {
+        return adjList;
+    }
+
+    public void addEdge(int start, int dest) {
+        adjList.computeIfAbsent(start, k -> new ArrayList<>()).add(dest);
+        adjList.computeIfAbsent(dest, k -> new ArrayList<>()); // keep sinks as vertices
+    }
+
+    public CompactGraph toCompactGraph() {
+        return CompactGraph.of(adjList);
+    }
+
+    public static void main(String[] args) {
+        // build jobs: 0 → 1 → 3, 0 → 2 → 3, and a cycle 4 → 5 → 6 → 4
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 3);
+        graph.addEdge(4, 5);
+        graph.addEdge(5, 6);
+        graph.addEdge(6, 4);
+        graph.addEdge(3, 4);
+
+        GraphUtils.printGraph(graph.getAdjList());
+
+        StronglyConnectedComponents scc = new StronglyConnectedComponents(graph.toCompactGraph());
+        System.out.println("Strongly connected components: " + scc.getCount()); // 5
+        System.out.println("Component of each vertex: " + Arrays.toString(scc.getComponents()));
+
+        // the condensation (one vertex per component) is always a DAG
+        int[][] levels = TopologicalSort.levels(scc.condensation());
+        System.out.println("Component levels: " + Arrays.deepToString(levels));
+
+        DirectedGraph dag = new DirectedGraph();
+        dag.addEdge(0, 1);
+        dag.addEdge(0, 2);
+        dag.addEdge(1, 3);
+        dag.addEdge(2, 3);
+        // 1 and 2 are independent and can be dispatched concurrently
+        System.out.println("Job levels: " + Arrays.deepToString(TopologicalSort.levels(dag.toCompactGraph())));
+    }
+}
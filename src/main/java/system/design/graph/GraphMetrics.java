@@ -0,0 +1,163 @@
+package system.design.graph;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Optional per-run counters for the {@link GraphUtils} algorithms.
+ * <p>
+ * Tells why a run was slow: graph shape (vertices settled, edges scanned),
+ * heap churn (pushes, pops) or redundant work (stale pops = entries popped for a vertex
+ * that was already settled with a shorter distance / already visited).
+ * <p>
+ * Usage:
+ * GraphMetrics metrics = GraphMetrics.create();
+ * GraphUtils.dijkstra(graph, source, metrics);
+ * System.out.println(metrics.snapshot());
+ * <p>
+ * The overloads without a metrics parameter are separate uninstrumented copies, so existing
+ * callers pay nothing. Passing {@link #disabled()} to a metrics overload is cheap but not free:
+ * every counter method starts with a check of the enabled flag, a load and a well-predicted
+ * branch (HotSpot does not constant-fold instance final fields).
+ * One instance per run, it is not thread-safe.
+ */
+public class GraphMetrics {
+
+    private static final GraphMetrics DISABLED = new GraphMetrics(false);
+
+    private final boolean enabled;
+
+    private long verticesSettled;
+    private long edgesScanned;
+    private long relaxations;
+    private long pushes;
+    private long pops;
+    private long stalePops;
+    private long startNanos;
+    private long wallNanos;
+
+    private GraphMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static GraphMetrics create() {
+        return new GraphMetrics(true);
+    }
+
+    public static GraphMetrics disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    void start() {
+        if (enabled) startNanos = System.nanoTime();
+    }
+
+    void stop() {
+        if (enabled) wallNanos += System.nanoTime() - startNanos;
+    }
+
+    void vertexSettled() {
+        if (enabled) verticesSettled++;
+    }
+
+    void edgeScanned() {
+        if (enabled) edgesScanned++;
+    }
+
+    void relaxation() {
+        if (enabled) relaxations++;
+    }
+
+    void push() {
+        if (enabled) pushes++;
+    }
+
+    void pop() {
+        if (enabled) pops++;
+    }
+
+    void stalePop() {
+        if (enabled) stalePops++;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(verticesSettled, edgesScanned, relaxations, pushes, pops, stalePops, wallNanos);
+    }
+
+    /**
+     * Immutable copy of the counters.
+     * Pushes/pops are heap operations for dijkstra and stack operations for the DFS traversals.
+     */
+    public static class Snapshot {
+        private final long verticesSettled;
+        private final long edgesScanned;
+        private final long relaxations;
+        private final long pushes;
+        private final long pops;
+        private final long stalePops;
+        private final long wallNanos;
+
+        public Snapshot(long verticesSettled, long edgesScanned, long relaxations,
+                        long pushes, long pops, long stalePops, long wallNanos) {
+            this.verticesSettled = verticesSettled;
+            this.edgesScanned = edgesScanned;
+            this.relaxations = relaxations;
+            this.pushes = pushes;
+            this.pops = pops;
+            this.stalePops = stalePops;
+            this.wallNanos = wallNanos;
+        }
+
+        public long getVerticesSettled() {
+            return verticesSettled;
+        }
+
+        public long getEdgesScanned() {
+            return edgesScanned;
+        }
+
+        public long getRelaxations() {
+            return relaxations;
+        }
+
+        public long getPushes() {
+            return pushes;
+        }
+
+        public long getPops() {
+            return pops;
+        }
+
+        public long getStalePops() {
+            return stalePops;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        /**
+         * Structured export, e.g. for logging or a metrics backend. Keys keep insertion order.
+         */
+        public Map<String, Long> toMap() {
+            Map<String, Long> map = new LinkedHashMap<>();
+            map.put("verticesSettled", verticesSettled);
+            map.put("edgesScanned", edgesScanned);
+            map.put("relaxations", relaxations);
+            map.put("pushes", pushes);
+            map.put("pops", pops);
+            map.put("stalePops", stalePops);
+            map.put("wallNanos", wallNanos);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return "GraphMetrics" + toMap();
+        }
+    }
+}
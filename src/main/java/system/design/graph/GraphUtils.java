@@ -53,6 +53,73 @@ public class GraphUtils {
         }
     }
 
+    /**
+     * Same as {@link #dfsIterative(Integer, Map, List, Set)}, counting stack operations into metrics.
+     * A stale pop is a node that was already visited when it came off the stack.
+     * The overload without metrics is a separate uninstrumented copy, so it pays nothing for them.
+     */
+    public static void dfsIterative(Integer node, Map<Integer, List<Integer>> adjList,
+                                    List<Integer> component, Set<Integer> visited, GraphMetrics metrics) {
+        Stack<Integer> stack = new Stack<>();
+        stack.push(node);
+        metrics.push();
+
+        while (!stack.isEmpty()) {
+            int current = stack.pop();
+            metrics.pop();
+            if (!visited.contains(current)) {
+                visited.add(current);
+                component.add(current);
+                metrics.vertexSettled();
+                for (int neighbor : adjList.computeIfAbsent(current, k -> new ArrayList<>())) {
+                    metrics.edgeScanned();
+                    if (!visited.contains(neighbor)) {
+                        stack.push(neighbor);
+                        metrics.push();
+                    }
+                }
+            } else {
+                metrics.stalePop();
+            }
+        }
+    }
+
+    /**
+     * Breadth First Search (BFS) over a {@link CompactGraph}, covering every component:
+     * starts at vertex 0, then at the next unvisited vertex, and so on.
+     * The order array doubles as the queue (head/tail pointers), no boxing.
+     *
+     * @param graph CSR graph
+     * @return vertices in the order they were visited
+     */
+    public static int[] bfsOrder(CompactGraph graph) {
+        int vertices = graph.getVertices();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] order = new int[vertices];
+        boolean[] visited = new boolean[vertices];
+        int head = 0;
+        int tail = 0;
+        for (int start = 0; start < vertices; start++) {
+            if (visited[start]) continue;
+            visited[start] = true;
+            order[tail++] = start;
+
+            while (head < tail) {
+                int current = order[head++];
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int neighbor = targets[e];
+                    if (!visited[neighbor]) {
+                        visited[neighbor] = true;
+                        order[tail++] = neighbor;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
     /**
      * Connected Components → A group of nodes connected directly or indirectly.
      *
@@ -79,10 +146,48 @@ public class GraphUtils {
         return components;
     }
 
+    /**
+     * Same as {@link #findConnectedComponents(Integer[][], int)}, collecting traversal metrics.
+     */
+    public static List<List<Integer>> findConnectedComponents(Integer[][] edges, int vertices,
+                                                              GraphMetrics metrics) {
+        metrics.start();
+        // Create Adjacency List: graph representation
+        Map<Integer, List<Integer>> adjList = createGraphAdjList(edges);
+
+        // Connected components list
+        List<List<Integer>> components = new ArrayList<>();
+
+        // Create a visited set to keep track of visited nodes
+        Set<Integer> visited = new HashSet<>();
+        for (Integer node : adjList.keySet()) {
+            if (!visited.contains(node)) {
+                List<Integer> component = new ArrayList<>();
+                dfsIterative(node, adjList, component, visited, metrics);
+                components.add(component);
+            }
+        }
+
+        metrics.stop();
+        return components;
+    }
+
     public static <T> Map<T, List<T>> createGraphAdjList(T[][] edges) {
         Map<T, List<T>> adjList = new HashMap<>();
         for (T[] edge : edges) {
-            addGraphEdgeToList(adjList, edge[0], edge[1]);
+            addGraphEdgeToList(adjList, edge[0], edge[1], false);
+        }
+        return adjList;
+    }
+
+    /**
+     * Directed version of {@link #createGraphAdjList}: edge[0] → edge[1] only.
+     * Vertices that only have incoming edges still get an (empty) entry.
+     */
+    public static <T> Map<T, List<T>> createDirectedGraphAdjList(T[][] edges) {
+        Map<T, List<T>> adjList = new HashMap<>();
+        for (T[] edge : edges) {
+            addGraphEdgeToList(adjList, edge[0], edge[1], true);
         }
         return adjList;
     }
@@ -97,6 +202,21 @@ public class GraphUtils {
         return adjMatrix;
     }
 
+    /**
+     * Bit-packed alternative to {@link #createGraphAdjMatrix}: 1 bit per possible edge instead of 32.
+     * Use it for large dense graphs.
+     *
+     * @param edges    an array of edges (which connect the nodes)
+     * @param vertices number of nodes
+     */
+    public static BitAdjacencyMatrix createGraphBitMatrix(Integer[][] edges, int vertices) {
+        BitAdjacencyMatrix matrix = new BitAdjacencyMatrix(vertices);
+        for (Integer[] edge : edges) {
+            matrix.addEdge(edge[0], edge[1]);
+        }
+        return matrix;
+    }
+
     public static void addGraphEdgeToMatrix(int[][] edges, int start, int dest, int weight) {
         if (start < 0 || dest < 0 || start >= edges.length || dest >= edges.length) {
             throw new IllegalArgumentException("Invalid graph node indices.");
@@ -107,13 +227,16 @@ public class GraphUtils {
 
     }
 
-    private static <T> void addGraphEdgeToList(Map<T, List<T>> adjList, T start, T dest) {
+    private static <T> void addGraphEdgeToList(Map<T, List<T>> adjList, T start, T dest, boolean directed) {
         if (start == null || dest == null) {
             throw new IllegalArgumentException("Graph nodes cannot be null.");
         }
 
         adjList.computeIfAbsent(start, k -> new ArrayList<>()).add(dest);
-        adjList.computeIfAbsent(dest, k -> new ArrayList<>()).add(start); // if undirected graph
+        List<T> destEdges = adjList.computeIfAbsent(dest, k -> new ArrayList<>());
+        if (!directed) {
+            destEdges.add(start); // if undirected graph
+        }
     }
 
     public static void printGraph(Map<Integer, List<Integer>> adjList) {
@@ -160,7 +283,48 @@ public class GraphUtils {
         }
     }
 
+    /**
+     * Heap entries whose weight is above the best known path are stale and skipped.
+     */
     public static Map<Integer, VertexDataPair<Integer, Integer>> dijkstra(WeightedGraph graph, int source) {
+        PriorityQueue<int[]> minHeap = new PriorityQueue<>(
+                Comparator.comparingInt(a -> a[1])); // a[1] is the edge weight
+
+        // key: vertex (node), value: shortest weight and previous vertex
+        Map<Integer, VertexDataPair<Integer, Integer>> vertexDataPairs = new HashMap<>();
+
+        minHeap.offer(new int[]{source, 0});
+        vertexDataPairs.put(source, new VertexDataPair<>(0, -1));
+
+        while (!minHeap.isEmpty()) {
+            int [] current = minHeap.poll();
+
+            // a shorter path to this vertex was found after this entry was pushed
+            if (current[1] > vertexDataPairs.get(current[0]).getPath()) {
+                continue;
+            }
+
+            for (var neighbor : graph.getAdjList().getOrDefault(current[0], new ArrayList<>())) {
+                int newWeight = neighbor[1] + current[1];
+                if (vertexDataPairs.getOrDefault(neighbor[0],
+                        new VertexDataPair<>(Integer.MAX_VALUE, -1)).getPath()
+                        > newWeight) {
+                    vertexDataPairs.put(neighbor[0], new VertexDataPair<>(newWeight, current[0]));
+                    minHeap.offer(new int[]{neighbor[0], newWeight});
+                }
+            }
+        }
+
+        return vertexDataPairs;
+    }
+
+    /**
+     * Same as {@link #dijkstra(WeightedGraph, int)}, collecting heap and relaxation metrics.
+     * Heap entries whose weight is above the best known path are stale and skipped (counted as stale pops).
+     */
+    public static Map<Integer, VertexDataPair<Integer, Integer>> dijkstra(WeightedGraph graph, int source,
+                                                                         GraphMetrics metrics) {
+        metrics.start();
 //        Set<Integer> visited = new HashSet<>();
 
         PriorityQueue<int[]> minHeap = new PriorityQueue<>(
@@ -172,13 +336,23 @@ public class GraphUtils {
         Map<Integer, VertexDataPair<Integer, Integer>> vertexDataPairs = new HashMap<>();
 
         minHeap.offer(new int[]{source, 0});
+        metrics.push();
 //        vertexData.put(source, 0);
         vertexDataPairs.put(source, new VertexDataPair<>(0, -1));
 
         while (!minHeap.isEmpty()) {
             int [] current = minHeap.poll();
+            metrics.pop();
+
+            // a shorter path to this vertex was found after this entry was pushed
+            if (current[1] > vertexDataPairs.get(current[0]).getPath()) {
+                metrics.stalePop();
+                continue;
+            }
+            metrics.vertexSettled();
 
             for (var neighbor : graph.getAdjList().getOrDefault(current[0], new ArrayList<>())) {
+                metrics.edgeScanned();
                 int newWeight = neighbor[1] + current[1];
 
 
@@ -189,11 +363,14 @@ public class GraphUtils {
 //                    vertexData.put(neighbor[0], newWeight);
                     vertexDataPairs.put(neighbor[0], new VertexDataPair<>(newWeight, current[0]));
                     minHeap.offer(new int[]{neighbor[0], newWeight});
+                    metrics.relaxation();
+                    metrics.push();
                 }
             }
 
         }
 
+        metrics.stop();
         return vertexDataPairs;
     }
 
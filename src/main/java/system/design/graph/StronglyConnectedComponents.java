@@ -0,0 +1,138 @@
+package system.design.graph;
+
+import java.util.Arrays;
+
+/**
+ * Strongly Connected Components → maximal groups of vertices where every vertex
+ * can reach every other one following the edge directions.
+ * <p>
+ * Tarjan's algorithm, iterative:
+ * dfsRecursive keeps one Java frame per vertex on the path and overflows the thread stack on long
+ * paths (V > 10^5). Here the DFS path lives in int[] arrays (callStack + edge cursor per frame),
+ * so the only limit is the heap.
+ * <p>
+ * index[v]   → order in which v was discovered
+ * lowLink[v] → smallest index reachable from v's DFS subtree through at most one back edge
+ * When lowLink[v] == index[v], v is the root of a component: pop the component stack down to v.
+ * <p>
+ * Components are numbered in reverse topological order (sinks first), O(V + E).
+ */
+public class StronglyConnectedComponents {
+
+    private final CompactGraph graph;
+    private final int[] components;
+    private int count;
+
+    public StronglyConnectedComponents(CompactGraph graph) {
+        this.graph = graph;
+        this.components = new int[graph.getVertices()];
+        compute();
+    }
+
+    private void compute() {
+        int vertices = graph.getVertices();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] index = new int[vertices];
+        int[] lowLink = new int[vertices];
+        boolean[] onStack = new boolean[vertices];
+        Arrays.fill(index, -1);
+
+        int[] stack = new int[vertices];      // Tarjan's component stack
+        int[] callStack = new int[vertices];  // DFS path (replaces recursion)
+        int[] nextEdge = new int[vertices];   // per vertex: next edge to explore
+        int stackSize = 0;
+        int nextIndex = 0;
+
+        for (int root = 0; root < vertices; root++) {
+            if (index[root] != -1) continue;
+
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            nextEdge[root] = offsets[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                if (nextEdge[v] < offsets[v + 1]) {
+                    int w = targets[nextEdge[v]++];
+                    if (index[w] == -1) {
+                        // "recursive call": push w
+                        index[w] = lowLink[w] = nextIndex++;
+                        nextEdge[w] = offsets[w];
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[depth++] = w;
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // all edges of v done: "return" to the parent
+                depth--;
+                if (lowLink[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        components[w] = count;
+                    } while (w != v);
+                    count++;
+                }
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                }
+            }
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return component id of every vertex, 0..count-1
+     */
+    public int[] getComponents() {
+        return components;
+    }
+
+    public boolean stronglyConnected(int u, int v) {
+        return components[u] == components[v];
+    }
+
+    /**
+     * Condensation: one vertex per component and an edge between components that are joined by
+     * at least one edge (duplicates kept). It has no cycles, so it can be topologically sorted.
+     */
+    public CompactGraph condensation() {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] newOffsets = new int[count + 1];
+        for (int v = 0; v < graph.getVertices(); v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (components[v] != components[targets[e]]) newOffsets[components[v] + 1]++;
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            newOffsets[c + 1] += newOffsets[c];
+        }
+
+        int[] next = Arrays.copyOf(newOffsets, count);
+        int[] newTargets = new int[newOffsets[count]];
+        for (int v = 0; v < graph.getVertices(); v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int cv = components[v];
+                int cw = components[targets[e]];
+                if (cv != cw) newTargets[next[cv]++] = cw;
+            }
+        }
+        return new CompactGraph(count, newOffsets, newTargets, null);
+    }
+}
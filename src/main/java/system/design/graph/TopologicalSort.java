@@ -0,0 +1,85 @@
+package system.design.graph;
+
+import java.util.Arrays;
+
+/**
+ * Topological Sort → order the vertices of a DAG so that every edge u → v has u before v.
+ * <p>
+ * Kahn's algorithm by levels:
+ * level 0 = vertices with no incoming edges,
+ * level k = vertices whose predecessors are all in levels < k.
+ * Vertices of the same level do not depend on each other, so a scheduler can dispatch
+ * a whole level concurrently and wait only between levels.
+ * <p>
+ * Iterative, O(V + E), no recursion.
+ */
+public class TopologicalSort {
+
+    private TopologicalSort() {
+    }
+
+    /**
+     * @param graph directed graph
+     * @return vertices grouped by level, in dependency order
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public static int[][] levels(CompactGraph graph) {
+        int vertices = graph.getVertices();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] inDegree = new int[vertices];
+        for (int target : targets) {
+            inDegree[target]++;
+        }
+
+        // order doubles as the queue; levelStart marks where each level begins
+        int[] order = new int[vertices];
+        int[] levelStart = new int[vertices + 1];
+        int tail = 0;
+        for (int v = 0; v < vertices; v++) {
+            if (inDegree[v] == 0) order[tail++] = v;
+        }
+
+        int levels = 0;
+        int head = 0;
+        while (head < tail) {
+            levelStart[levels++] = head;
+            int levelEnd = tail;
+            for (; head < levelEnd; head++) {
+                int v = order[head];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    if (--inDegree[targets[e]] == 0) {
+                        order[tail++] = targets[e];
+                    }
+                }
+            }
+        }
+        levelStart[levels] = tail;
+
+        if (tail != vertices) {
+            throw new IllegalArgumentException("Graph has a cycle, "
+                    + (vertices - tail) + " vertices cannot be ordered.");
+        }
+
+        int[][] result = new int[levels][];
+        for (int l = 0; l < levels; l++) {
+            result[l] = Arrays.copyOfRange(order, levelStart[l], levelStart[l + 1]);
+        }
+        return result;
+    }
+
+    /**
+     * @return a flat topological order (levels concatenated)
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public static int[] order(CompactGraph graph) {
+        int[] order = new int[graph.getVertices()];
+        int k = 0;
+        for (int[] level : levels(graph)) {
+            System.arraycopy(level, 0, order, k, level.length);
+            k += level.length;
+        }
+        return order;
+    }
+}
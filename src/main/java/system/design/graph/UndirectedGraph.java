@@ -58,9 +58,13 @@ public class UndirectedGraph {
         int[][] adjMatrix = GraphUtils.createGraphAdjMatrix(edges, vertices);
         Map<Integer, List<Integer>> adjList = GraphUtils.createGraphAdjList(edges);
 
+        BitAdjacencyMatrix bitMatrix = GraphUtils.createGraphBitMatrix(edges, vertices);
+
         // Print the graph
         System.out.println("Adjacency Matrix:");
         GraphUtils.printGraph(adjMatrix);
+        System.out.println("Bit Adjacency Matrix:");
+        GraphUtils.printGraph(bitMatrix.toIntMatrix());
         System.out.println("Adjacency List:");
         GraphUtils.printGraph(adjList);
 
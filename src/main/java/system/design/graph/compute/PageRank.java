@@ -0,0 +1,121 @@
+package system.design.graph.compute;
+
+import system.design.graph.CompactGraph;
+import system.design.graph.DirectedGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * PageRank → the probability that a random surfer is on a vertex, where the surfer follows a
+ * random out-edge with probability d (damping, usually 0.85) and jumps to a random vertex otherwise.
+ * <p>
+ * rank(v) = (1 - d) / N + d * (sum over in-neighbours u of rank(u) / outDegree(u) + dangling / N)
+ * <p>
+ * Dangling vertices (no out-edges) spread their rank over all vertices, otherwise rank leaks
+ * and the vector no longer sums to 1.
+ * <p>
+ * Pull-based: every vertex reads rank(u) / outDegree(u) of its in-neighbours, so there are no
+ * concurrent writes. The division is precomputed once per vertex per iteration (contribution[]),
+ * not once per edge.
+ */
+public class PageRank implements VertexProgram {
+
+    public static final double DEFAULT_DAMPING = 0.85;
+
+    private final CompactGraph inEdges;
+    private final int[] outDegree;
+    private final int[] danglingVertices;
+    private final double damping;
+    private final double[] contribution;
+    private double danglingShare;
+
+    /**
+     * @param graph   directed graph (out-edges)
+     * @param damping probability of following an edge, 0 < damping < 1
+     */
+    public PageRank(CompactGraph graph, double damping) {
+        if (damping <= 0 || damping >= 1) {
+            throw new IllegalArgumentException("Damping must be between 0 and 1");
+        }
+        int vertices = graph.getVertices();
+        this.inEdges = graph.transpose();
+        this.damping = damping;
+        this.outDegree = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            outDegree[v] = graph.degree(v);
+        }
+        this.danglingVertices = IntStream.range(0, vertices).filter(v -> outDegree[v] == 0).toArray();
+        this.contribution = new double[vertices];
+    }
+
+    public PageRank(CompactGraph graph) {
+        this(graph, DEFAULT_DAMPING);
+    }
+
+    public VertexCentricEngine.Result run(VertexCentricEngine engine, int maxIterations, double tolerance) {
+        return engine.run(inEdges, this, maxIterations, tolerance);
+    }
+
+    @Override
+    public double initialValue(int vertex, int vertices) {
+        return 1.0 / vertices;
+    }
+
+    @Override
+    public void beforeIteration(double[] current) {
+        int vertices = current.length;
+        Arrays.parallelSetAll(contribution, u -> outDegree[u] == 0 ? 0 : current[u] / outDegree[u]);
+        double dangling = Arrays.stream(danglingVertices).parallel().mapToDouble(u -> current[u]).sum();
+        danglingShare = dangling / vertices;
+    }
+
+    @Override
+    public double compute(int vertex, double[] current, CompactGraph inEdges) {
+        int[] offsets = inEdges.getOffsets();
+        int[] sources = inEdges.getTargets();
+        double sum = 0;
+        for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+            sum += contribution[sources[e]];
+        }
+        return (1 - damping) / current.length + damping * (sum + danglingShare);
+    }
+
+    public static void main(String[] args) {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+        graph.addEdge(3, 2);
+        graph.addEdge(2, 4); // 4 is dangling
+
+        VertexCentricEngine engine = new VertexCentricEngine();
+        VertexCentricEngine.Result result = new PageRank(graph.toCompactGraph()).run(engine, 100, 1e-10);
+        System.out.println("Ranks: " + Arrays.toString(result.getValues()));
+        System.out.println("Iterations: " + result.getIterations() + ", converged: " + result.isConverged());
+
+        // large random graph: args = vertices, edges per vertex
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        CompactGraph random = randomGraph(vertices, degree, new Random(42));
+
+        long start = System.nanoTime();
+        result = new PageRank(random).run(engine, 100, 1e-6);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%d vertices, %d edges: %d iterations in %.0f ms%n",
+                vertices, random.getEdgeCount(), result.getIterations(), elapsed / 1e6);
+    }
+
+    private static CompactGraph randomGraph(int vertices, int degree, Random random) {
+        int[] offsets = new int[vertices + 1];
+        int[] targets = new int[vertices * degree];
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] = offsets[v] + degree;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                targets[e] = random.nextInt(vertices);
+            }
+        }
+        return new CompactGraph(vertices, offsets, targets, null);
+    }
+}
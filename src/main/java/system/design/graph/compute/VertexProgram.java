@@ -0,0 +1,33 @@
+package system.design.graph.compute;
+
+import system.design.graph.CompactGraph;
+
+/**
+ * A pull-based vertex-centric computation run by {@link VertexCentricEngine}.
+ * <p>
+ * Every iteration, each vertex computes its next value from the current values of its
+ * in-neighbours ("think like a vertex"). The engine calls {@link #compute} for all vertices in
+ * parallel, so it must only read shared state and write nothing but its return value.
+ */
+public interface VertexProgram {
+
+    /**
+     * Value of the vertex before the first iteration.
+     */
+    double initialValue(int vertex, int vertices);
+
+    /**
+     * Called once per iteration before the vertices are computed, e.g. to aggregate global
+     * values (like the dangling mass in PageRank) or precompute per-vertex contributions.
+     */
+    default void beforeIteration(double[] current) {
+    }
+
+    /**
+     * @param vertex   vertex to compute
+     * @param current  values of the previous iteration (read only)
+     * @param inEdges  graph whose row v lists the in-neighbours of v
+     * @return the next value of the vertex
+     */
+    double compute(int vertex, double[] current, CompactGraph inEdges);
+}
@@ -0,0 +1,236 @@
+package system.design.graph.weighted;
+
+import system.design.graph.CompactGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs Dijkstra from many sources on a worker pool.
+ * <p>
+ * GraphUtils.dijkstra builds new HashMaps and a new heap on every call. For thousands of sources
+ * on the same graph that is mostly allocation and hashing. Here:
+ * - The graph is converted once to a {@link CompactGraph} (flat arrays, shared read-only by all workers).
+ * - Every worker owns one scratch: distance[], prev[] and a primitive binary heap, reused for all its sources.
+ * - Instead of clearing distance[] per source (O(V)), every slot carries an epoch stamp.
+ *   A slot is valid only if stamp[v] == epoch, so "reset" is just epoch++.
+ * - Results are streamed to a {@link ResultConsumer}, no V x V distance matrix is built.
+ * <p>
+ * Edge weights must be non-negative.
+ */
+public class BatchDijkstra {
+
+    /**
+     * Receives the shortest paths of one source.
+     * Called concurrently from several workers, so implementations must be thread-safe.
+     * The {@link ShortestPaths} view is only valid during the call (the scratch is reused afterwards).
+     */
+    public interface ResultConsumer {
+        void accept(int source, ShortestPaths paths);
+    }
+
+    private final CompactGraph graph;
+    private final int threads;
+
+    public BatchDijkstra(CompactGraph graph, int threads) {
+        if (!graph.isWeighted()) {
+            throw new IllegalArgumentException("Dijkstra needs a weighted graph.");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be greater than 0");
+        }
+        this.graph = graph;
+        this.threads = threads;
+    }
+
+    public BatchDijkstra(WeightedGraph graph) {
+        this(CompactGraph.of(graph), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Computes shortest paths from every source and blocks until all results are delivered.
+     *
+     * @param sources  source vertices
+     * @param consumer receives one callback per source
+     */
+    public void run(int[] sources, ResultConsumer consumer) {
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(threads, Math.max(sources.length, 1));
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                tasks.add(() -> {
+                    // one scratch per worker, reused for every source it takes
+                    ShortestPaths scratch = new ShortestPaths(graph.getVertices());
+                    for (int i = next.getAndIncrement(); i < sources.length; i = next.getAndIncrement()) {
+                        scratch.compute(graph, sources[i]);
+                        consumer.accept(sources[i], scratch);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch Dijkstra was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch Dijkstra failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Per-worker scratch and, during a callback, the read-only result of one source.
+     */
+    public static final class ShortestPaths {
+        private final long[] distance;
+        private final int[] prev;
+        private final int[] stamp;
+        private int epoch;
+        private int source;
+
+        // lazy-deletion binary min-heap of (distance, vertex)
+        private long[] heapKey;
+        private int[] heapVertex;
+        private int heapSize;
+
+        ShortestPaths(int vertices) {
+            distance = new long[vertices];
+            prev = new int[vertices];
+            stamp = new int[vertices];
+            heapKey = new long[Math.max(16, vertices)];
+            heapVertex = new int[heapKey.length];
+        }
+
+        void compute(CompactGraph graph, int source) {
+            if (source < 0 || source >= distance.length) {
+                throw new IllegalArgumentException("Invalid source vertex: " + source);
+            }
+            nextEpoch();
+            this.source = source;
+
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            int[] weights = graph.getWeights();
+
+            relax(source, 0, -1);
+            while (heapSize > 0) {
+                long dist = heapKey[0];
+                int vertex = heapVertex[0];
+                pop();
+                if (dist > distance[vertex]) continue; // stale entry, a shorter path was found
+
+                for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+                    long newDist = dist + weights[e];
+                    int neighbor = targets[e];
+                    if (stamp[neighbor] != epoch || newDist < distance[neighbor]) {
+                        relax(neighbor, newDist, vertex);
+                    }
+                }
+            }
+        }
+
+        private void nextEpoch() {
+            epoch++;
+            if (epoch == 0) { // wrapped around after 2^32 runs: stamps are ambiguous, clear once
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+            heapSize = 0;
+        }
+
+        private void relax(int vertex, long dist, int from) {
+            stamp[vertex] = epoch;
+            distance[vertex] = dist;
+            prev[vertex] = from;
+            push(dist, vertex);
+        }
+
+        private void push(long key, int vertex) {
+            if (heapSize == heapKey.length) {
+                heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+                heapVertex = Arrays.copyOf(heapVertex, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heapKey[parent] <= key) break;
+                heapKey[i] = heapKey[parent];
+                heapVertex[i] = heapVertex[parent];
+                i = parent;
+            }
+            heapKey[i] = key;
+            heapVertex[i] = vertex;
+        }
+
+        private void pop() {
+            long key = heapKey[--heapSize];
+            int vertex = heapVertex[heapSize];
+            int i = 0;
+            int half = heapSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) child++;
+                if (key <= heapKey[child]) break;
+                heapKey[i] = heapKey[child];
+                heapVertex[i] = heapVertex[child];
+                i = child;
+            }
+            heapKey[i] = key;
+            heapVertex[i] = vertex;
+        }
+
+        public int getSource() {
+            return source;
+        }
+
+        public boolean isReachable(int vertex) {
+            return stamp[vertex] == epoch;
+        }
+
+        /**
+         * @return shortest distance from the source, or Long.MAX_VALUE if unreachable
+         */
+        public long getDistance(int vertex) {
+            return isReachable(vertex) ? distance[vertex] : Long.MAX_VALUE;
+        }
+
+        /**
+         * @return previous vertex on the shortest path, -1 for the source or unreachable vertices
+         */
+        public int getPrev(int vertex) {
+            return isReachable(vertex) ? prev[vertex] : -1;
+        }
+    }
+
+    public static void main(String[] args) {
+        WeightedGraph graph = new WeightedGraph();
+        graph.addEdge(0, 1, 4);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(2, 1, 2);
+        graph.addEdge(2, 3, 5);
+
+        BatchDijkstra batch = new BatchDijkstra(CompactGraph.of(graph), 2);
+        batch.run(new int[]{0, 1, 2, 3}, (source, paths) -> {
+            StringBuilder row = new StringBuilder("From " + source + ":");
+            for (int v = 0; v < 4; v++) {
+                row.append(' ').append(paths.getDistance(v));
+            }
+            synchronized (System.out) {
+                System.out.println(row);
+            }
+        });
+    }
+}
@@ -0,0 +1,179 @@
+package system.design.graph.weighted;
+
+import algorithms.dynamic.provinces.WeightedQuickUnionUF;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Minimum Spanning Tree (forest) → the subset of edges that connects every component
+ * of the graph with the minimum total weight.
+ * <p>
+ * Borůvka's algorithm works in rounds:
+ * 1. Every component picks its cheapest outgoing edge.
+ * 2. All picked edges are added to the tree, merging components (WeightedQuickUnionUF).
+ * 3. Repeat until no component has an outgoing edge.
+ * Every round at least halves the number of components → O(log V) rounds, O(E log V) total.
+ * <p>
+ * Why Borůvka for large graphs?
+ * Step 1 is independent per edge, so it runs in parallel over the edge array.
+ * Each edge offers itself to both components with a CAS "min" on an AtomicLongArray.
+ * The key packs (weight, edge index), so ties break by edge index and no cycles are created.
+ * Step 2 is a short sequential pass (at most one edge per component).
+ * <p>
+ * Edges are kept as primitive arrays (from[], to[], weight[]), no boxing.
+ */
+public class BoruvkaMST {
+
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final int vertices;
+    private final int[] from;
+    private final int[] to;
+    private final int[] weight;
+
+    private long totalWeight;
+    private int[] edges;
+
+    /**
+     * @param vertices number of nodes, ids are 0..vertices-1
+     * @param from     edge start nodes
+     * @param to       edge destination nodes
+     * @param weight   edge weights
+     */
+    public BoruvkaMST(int vertices, int[] from, int[] to, int[] weight) {
+        if (from.length != to.length || from.length != weight.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length.");
+        }
+        this.vertices = vertices;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        compute();
+    }
+
+    /**
+     * Builds the MST of a WeightedGraph. Every undirected edge is stored twice in the
+     * adjacency list, so only the copy with start < dest is taken.
+     * Edge indices in {@link #getEdges()} refer to {@link #getFrom()}/{@link #getTo()}.
+     */
+    public static BoruvkaMST of(WeightedGraph graph) {
+        Map<Integer, List<int[]>> adjList = graph.getAdjList();
+        int vertices = 0;
+        int edgeCount = 0;
+        for (Map.Entry<Integer, List<int[]>> entry : adjList.entrySet()) {
+            vertices = Math.max(vertices, entry.getKey() + 1);
+            for (int[] neighbor : entry.getValue()) {
+                if (entry.getKey() < neighbor[0]) edgeCount++;
+            }
+        }
+
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        int[] weight = new int[edgeCount];
+        int k = 0;
+        for (Map.Entry<Integer, List<int[]>> entry : adjList.entrySet()) {
+            for (int[] neighbor : entry.getValue()) {
+                if (entry.getKey() < neighbor[0]) {
+                    from[k] = entry.getKey();
+                    to[k] = neighbor[0];
+                    weight[k] = neighbor[1];
+                    k++;
+                }
+            }
+        }
+        return new BoruvkaMST(vertices, from, to, weight);
+    }
+
+    private void compute() {
+        WeightedQuickUnionUF uf = new WeightedQuickUnionUF(vertices);
+        int[] component = new int[vertices];
+        AtomicLongArray cheapest = new AtomicLongArray(vertices);
+        int[] chosen = new int[Math.max(vertices - 1, 0)];
+        int chosenCount = 0;
+
+        while (true) {
+            // find() compresses paths, so snapshot the roots before the parallel phase
+            for (int v = 0; v < vertices; v++) {
+                component[v] = uf.find(v);
+                cheapest.set(v, NONE);
+            }
+
+            // cheapest outgoing edge per component, in parallel over the edges
+            IntStream.range(0, from.length).parallel().forEach(e -> {
+                int cu = component[from[e]];
+                int cv = component[to[e]];
+                if (cu == cv) return; // inside a component (or self loop)
+                long key = ((long) weight[e] << 32) | e;
+                offerMin(cheapest, cu, key);
+                offerMin(cheapest, cv, key);
+            });
+
+            // merge components along the picked edges
+            boolean merged = false;
+            for (int v = 0; v < vertices; v++) {
+                long key = cheapest.get(v);
+                if (key == NONE) continue;
+                int e = (int) key;
+                // both components may have picked the same edge
+                if (uf.find(from[e]) != uf.find(to[e])) {
+                    uf.union(from[e], to[e]);
+                    chosen[chosenCount++] = e;
+                    totalWeight += weight[e];
+                    merged = true;
+                }
+            }
+            if (!merged) break;
+        }
+
+        edges = Arrays.copyOf(chosen, chosenCount);
+    }
+
+    private static void offerMin(AtomicLongArray cheapest, int component, long key) {
+        long current = cheapest.get(component);
+        while (key < current && !cheapest.compareAndSet(component, current, key)) {
+            current = cheapest.get(component);
+        }
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * @return indices of the chosen edges in the from[]/to[]/weight[] arrays
+     */
+    public int[] getEdges() {
+        return edges;
+    }
+
+    public int[] getFrom() {
+        return from;
+    }
+
+    public int[] getTo() {
+        return to;
+    }
+
+    public int[] getWeight() {
+        return weight;
+    }
+
+    public static void main(String[] args) {
+        WeightedGraph graph = new WeightedGraph();
+        graph.addEdge(0, 1, 4);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(2, 1, 2);
+        graph.addEdge(2, 3, 5);
+
+        BoruvkaMST mst = BoruvkaMST.of(graph);
+        System.out.println("Total weight: " + mst.getTotalWeight()); // 4
+        for (int e : mst.getEdges()) {
+            System.out.println(mst.getFrom()[e] + " - " + mst.getTo()[e] + " (" + mst.getWeight()[e] + ")");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package system.design.graph.weighted;
 
+import system.design.graph.GraphMetrics;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -19,7 +21,7 @@ public class WeightedGraph {
         return adjList;
     }
 
-    private void addEdge(int start, int dest, int weight) {
+    public void addEdge(int start, int dest, int weight) {
         adjList.computeIfAbsent(start, k -> new ArrayList<>()).add(new int[]{dest, weight});
         adjList.computeIfAbsent(dest, k -> new ArrayList<>()).add(new int[]{start, weight});
     }
@@ -40,6 +42,10 @@ public class WeightedGraph {
                 .map(e -> e.getKey() + ": " + e.getValue())
                 .toList());
 
+        GraphMetrics metrics = GraphMetrics.create();
+        dijkstra(graph, source, metrics);
+        System.out.println(metrics.snapshot());
+
         int target = 3;
         System.out.println("Shortest path to " + target + ": ");
         printList(getShortestPath(shortestPaths, target));